@@ -37,6 +37,13 @@ import org.w3c.dom.Document;
 
 public interface CoqCommand {
 
+	// the protocol call this is, used to group metrics
+	public String getMethod();
+	
+	public void write(CoqXMLWriter out);
+	
+	public String getXML();
+	
 	public Document getDoc();
 	
 }
@@ -41,6 +41,8 @@ public interface CoqMessage {
 		GOOD, FAIL
 	}
 	
+	public String getXML();
+	
 	public Document getDoc();
 	
 	public Status getStatus();
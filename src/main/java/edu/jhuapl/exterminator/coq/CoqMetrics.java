@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.beans.ConstructorProperties;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Collects where the time goes for each kind of command: writing it,
+ * waiting for coqtop to start answering, reading the answer, and
+ * decoding it into a message (including parsing any terms).
+ */
+public class CoqMetrics implements CoqMetricsMXBean {
+	
+	public static final String OBJECT_NAME = "edu.jhuapl.exterminator:type=CoqMetrics";
+	
+	public static enum Phase {
+		WRITE, THINK, READ, DECODE;
+	}
+	
+	private final ConcurrentMap<String, CommandStats> commands;
+	
+	public CoqMetrics() {
+		this.commands = new ConcurrentHashMap<>();
+	}
+	
+	private CommandStats stats(String method) {
+		CommandStats stats = commands.get(method);
+		if(stats == null) {
+			CommandStats newStats = new CommandStats();
+			stats = commands.putIfAbsent(method, newStats);
+			if(stats == null) stats = newStats;
+		}
+		return stats;
+	}
+	
+	public void record(String method, Phase phase, long nanos) {
+		if(nanos < 0) return;
+		stats(method).phases[phase.ordinal()].add(nanos / 1000);
+	}
+	
+	// sizes are in characters, which is close enough for the ASCII protocol
+	public void recordBytes(String method, long written, long read) {
+		CommandStats stats = stats(method);
+		stats.written.addAndGet(written);
+		stats.read.addAndGet(read);
+	}
+	
+	@Override
+	public List<PhaseSummary> getPhases() {
+		List<PhaseSummary> summaries = new ArrayList<>();
+		for(Map.Entry<String, CommandStats> e : new TreeMap<>(commands).entrySet()) {
+			for(Phase phase : Phase.values()) {
+				Histogram h = e.getValue().phases[phase.ordinal()];
+				summaries.add(new PhaseSummary(e.getKey(), phase.name(), h.count.get(),
+						h.mean(), h.percentile(0.5), h.percentile(0.95), h.max.get()));
+			}
+		}
+		return summaries;
+	}
+	
+	@Override
+	public Map<String, Long> getBytesWritten() {
+		Map<String, Long> bytes = new TreeMap<>();
+		for(Map.Entry<String, CommandStats> e : commands.entrySet()) {
+			bytes.put(e.getKey(), e.getValue().written.get());
+		}
+		return bytes;
+	}
+	
+	@Override
+	public Map<String, Long> getBytesRead() {
+		Map<String, Long> bytes = new TreeMap<>();
+		for(Map.Entry<String, CommandStats> e : commands.entrySet()) {
+			bytes.put(e.getKey(), e.getValue().read.get());
+		}
+		return bytes;
+	}
+	
+	@Override
+	public String getReport() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%-10s %-7s %7s %10s %10s %10s %10s%n",
+				"command", "phase", "count", "mean us", "p50 us", "p95 us", "max us"));
+		for(PhaseSummary s : getPhases()) {
+			if(s.getCount() == 0) continue;
+			sb.append(String.format("%-10s %-7s %7d %10d %10d %10d %10d%n",
+					s.getCommand(), s.getPhase(), s.getCount(), s.getMeanMicros(),
+					s.getP50Micros(), s.getP95Micros(), s.getMaxMicros()));
+		}
+		
+		sb.append(String.format("%n%-10s %12s %12s%n", "command", "bytes out", "bytes in"));
+		Map<String, Long> read = getBytesRead();
+		for(Map.Entry<String, Long> e : getBytesWritten().entrySet()) {
+			sb.append(String.format("%-10s %12d %12d%n", e.getKey(), e.getValue(), read.get(e.getKey())));
+		}
+		return sb.toString();
+	}
+	
+	@Override
+	public void reset() {
+		commands.clear();
+	}
+	
+	///////////////////////////////////////////////////////////////////////////
+	
+	private static class CommandStats {
+		
+		private final Histogram[] phases;
+		
+		private final AtomicLong written, read;
+		
+		private CommandStats() {
+			this.phases = new Histogram[Phase.values().length];
+			for(int i = 0; i < phases.length; i++) {
+				phases[i] = new Histogram();
+			}
+			this.written = new AtomicLong();
+			this.read = new AtomicLong();
+		}
+		
+	}
+	
+	// power-of-two buckets, so percentiles are accurate to within 2x
+	private static class Histogram {
+		
+		private static final int BUCKETS = 48;
+		
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+		
+		private final AtomicLong count = new AtomicLong(), sum = new AtomicLong(), max = new AtomicLong();
+		
+		private void add(long micros) {
+			int bucket = 64 - Long.numberOfLeadingZeros(micros);
+			buckets.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+			count.incrementAndGet();
+			sum.addAndGet(micros);
+			
+			long m;
+			while(micros > (m = max.get()) && !max.compareAndSet(m, micros));
+		}
+		
+		private long mean() {
+			long n = count.get();
+			return n == 0 ? 0 : sum.get() / n;
+		}
+		
+		// the upper bound of the bucket holding the given fraction
+		private long percentile(double fraction) {
+			long n = count.get();
+			if(n == 0) return 0;
+			long target = (long)Math.ceil(n * fraction);
+			long seen = 0;
+			for(int i = 0; i < BUCKETS; i++) {
+				seen += buckets.get(i);
+				if(seen >= target) {
+					return Math.min(i == 0 ? 0 : (1L << i) - 1, max.get());
+				}
+			}
+			return max.get();
+		}
+		
+	}
+	
+	public static class PhaseSummary {
+		
+		private final String command, phase;
+		
+		private final long count, meanMicros, p50Micros, p95Micros, maxMicros;
+		
+		@ConstructorProperties({ "command", "phase", "count", "meanMicros",
+			"p50Micros", "p95Micros", "maxMicros" })
+		public PhaseSummary(String command, String phase, long count, long meanMicros,
+				long p50Micros, long p95Micros, long maxMicros) {
+			this.command = command;
+			this.phase = phase;
+			this.count = count;
+			this.meanMicros = meanMicros;
+			this.p50Micros = p50Micros;
+			this.p95Micros = p95Micros;
+			this.maxMicros = maxMicros;
+		}
+		
+		public String getCommand() { return command; }
+		
+		public String getPhase() { return phase; }
+		
+		public long getCount() { return count; }
+		
+		public long getMeanMicros() { return meanMicros; }
+		
+		public long getP50Micros() { return p50Micros; }
+		
+		public long getP95Micros() { return p95Micros; }
+		
+		public long getMaxMicros() { return maxMicros; }
+		
+	}
+	
+	///////////////////////////////////////////////////////////////////////////
+	
+	private static CoqMetrics instance;
+	
+	// the metrics shared by every CoqTop, registered with JMX when first used
+	public static synchronized CoqMetrics instance() {
+		if(instance == null) {
+			instance = new CoqMetrics();
+			try {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(instance,
+						new ObjectName(OBJECT_NAME));
+			} catch(JMException e) {
+				e.printStackTrace();
+			}
+		}
+		return instance;
+	}
+	
+}
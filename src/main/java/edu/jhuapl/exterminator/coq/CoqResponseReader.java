@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Reads coqtop's output on its own thread and splits it into responses.
+ * A response is a top-level value element; it is handed off as soon as
+ * its closing tag has been read.
+ */
+public class CoqResponseReader extends Thread {
+
+	public static final String ELEMENT = "value";
+
+	private static final int BUF_SIZE = 8192;
+
+	// marks the end of the stream in the queue
+	private static final Response END = new Response(null, -1);
+	
+	private static class Response {
+		
+		private final String xml;
+		
+		// System.nanoTime() when its first character was read
+		private final long started;
+		
+		private Response(String xml, long started) {
+			this.xml = xml;
+			this.started = started;
+		}
+		
+	}
+
+	private final InputStream stream;
+
+	private final Reader in;
+
+	private final BlockingQueue<Response> responses;
+	
+	// only touched by the thread calling take
+	private long lastStarted;
+
+	private volatile boolean closed;
+
+	private volatile IOException failure;
+
+	public CoqResponseReader(InputStream stream) {
+		super("coqtop-reader");
+		setDaemon(true);
+		this.stream = stream;
+		this.in = new InputStreamReader(stream);
+		this.responses = new LinkedBlockingQueue<>();
+		this.closed = false;
+		this.failure = null;
+		this.lastStarted = -1;
+	}
+
+	@Override
+	public void run() {
+		char[] buf = new char[BUF_SIZE];
+		StringBuilder response = new StringBuilder();
+		boolean inTag = false;
+		int tagStart = 0;
+		int depth = 0;
+		long started = 0;
+
+		try {
+			int numRead;
+			while((numRead = in.read(buf, 0, BUF_SIZE)) >= 0) {
+				for(int i = 0; i < numRead; i++) {
+					char c = buf[i];
+					if(c == '<' && !inTag) {
+						inTag = true;
+						tagStart = response.length();
+						if(depth == 0) started = System.nanoTime();
+					}
+					if(!inTag && depth == 0) {
+						// text between responses
+						continue;
+					}
+					response.append(c);
+					if(c != '>' || !inTag) continue;
+
+					inTag = false;
+					if(isTag(response, tagStart, "</" + ELEMENT)) {
+						depth--;
+					} else if(isTag(response, tagStart, "<" + ELEMENT)) {
+						if(response.charAt(response.length() - 2) != '/') {
+							depth++;
+						}
+					} else if(depth == 0) {
+						// some other top-level element, ignore it
+						response.setLength(0);
+						continue;
+					}
+
+					if(depth == 0) {
+						responses.add(new Response(response.toString(), started));
+						response.setLength(0);
+					}
+				}
+			}
+			failure = new IOException("coqtop closed its output");
+		} catch(IOException e) {
+			failure = e;
+		} finally {
+			responses.add(END);
+		}
+	}
+
+	private static boolean isTag(StringBuilder sb, int start, String prefix) {
+		int end = start + prefix.length();
+		if(end >= sb.length()) return false;
+		for(int i = 0; i < prefix.length(); i++) {
+			if(sb.charAt(start + i) != prefix.charAt(i)) return false;
+		}
+		char next = sb.charAt(end);
+		return next == '>' || next == '/' || Character.isWhitespace(next);
+	}
+
+	public String take() throws IOException {
+		Response response;
+		try {
+			response = responses.take();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted waiting for coqtop");
+		}
+
+		if(response == END) {
+			// leave the marker for any later callers
+			responses.add(END);
+			if(closed) throw new IOException("Reader closed");
+			throw new IOException("No response from coqtop", failure);
+		}
+		lastStarted = response.started;
+		return response.xml;
+	}
+	
+	/**
+	 * @return System.nanoTime() when the first character of the response
+	 * last returned by take() was read
+	 */
+	public long getLastStarted() {
+		return lastStarted;
+	}
+
+	public void close() throws IOException {
+		closed = true;
+		// closing the reader would block on the read in progress
+		stream.close();
+	}
+
+}
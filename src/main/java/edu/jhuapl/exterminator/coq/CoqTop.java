@@ -33,15 +33,17 @@
  */
 package edu.jhuapl.exterminator.coq;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
+import java.io.InterruptedIOException;
 import java.nio.file.Path;
-
-import org.w3c.dom.Document;
-import org.xml.sax.SAXException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import edu.jhuapl.exterminator.coq.coq84.CoqTop84;
 import edu.jhuapl.exterminator.coq.message.CoqAboutMessage;
@@ -59,28 +61,132 @@ public abstract class CoqTop {
 
 	public static final String EXE = "coqtop";
 	
+	// how many commands a batch may send before reading their responses
+	public static final int PIPELINE_WINDOW = Math.max(1, Integer.getInteger("exterminator.coq.pipeline", 16));
+	
+	// set one of these to a transcript file to record sessions with coqtop
+	// or to serve a recorded session back without running coqtop
+	public static final String RECORD_PROPERTY = "exterminator.coq.record";
+	
+	public static final String REPLAY_PROPERTY = "exterminator.coq.replay";
+	
+	// if true, replayed responses take as long as they did when recorded
+	public static final String REPLAY_REALTIME_PROPERTY = "exterminator.coq.replay.realtime";
+	
+	// how long coqtop gets to answer an interrupt before it is stopped
+	public static final long INTERRUPT_GRACE = Long.getLong("exterminator.coq.interrupt.grace", 5000L);
+	
+	private static final ScheduledExecutorService DEADLINES =
+			Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "coqtop-deadlines");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+	
+	// numbers the transcripts of every process after the first
+	private static final AtomicInteger sessions = new AtomicInteger();
+	
 	protected final String[] command;
 	
-	protected Process process;
+	protected volatile CoqTransport transport;
 	
-	protected PrintWriter writer;
+	// reused for every command written to coqtop
+	protected final CoqXMLWriter encoder = new CoqXMLWriter();
 	
-	protected BufferedReader reader;
+	protected final CoqMetrics metrics = CoqMetrics.instance();
+	
+	// System.nanoTime() when the last command was written and the last
+	// response was read, to split a wait into think and read time
+	private long lastWritten, lastRead;
+	
+	// milliseconds coqtop may spend on one command, or 0 for no limit
+	private volatile long timeout;
+	
+	// guards the deadline, which is for the oldest command still waiting
+	// on a response and starts when coqtop can start on that command
+	private final Object watch = new Object();
+	
+	private int outstanding;
+	
+	private ScheduledFuture<?> deadline;
+	
+	// bumped whenever the deadline changes, so one that already fired
+	// can tell it's out of date
+	private int generation;
+	
+	// whether coqtop was already interrupted for the current command
+	private boolean interrupted;
+	
+	// set once coqtop was stopped for missing a deadline, or because its
+	// caller gave up on a command
+	private volatile boolean lost;
 	
 	protected CoqTop(String... command) throws IOException {
 		this.command = command;
 		terminateAndRestart();
 	}
 	
-	public void terminateAndRestart() throws IOException {
-		if(this.process != null) {
-			this.reader.close();
-			this.writer.close();
-			this.process.destroy();
+	public synchronized void terminateAndRestart() throws IOException {
+		close();
+		this.transport = openTransport();
+		this.lost = false;
+	}
+	
+	/**
+	 * Sets how long coqtop may work on one command.  Past that it is
+	 * interrupted, which fails the command without changing its state.  If
+	 * it doesn't answer the interrupt either, it is stopped and the caller
+	 * gets a CoqStateLostException.
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+	
+	public long getTimeout() {
+		return timeout;
+	}
+	
+	protected CoqTransport openTransport() throws IOException {
+		String record = System.getProperty(RECORD_PROPERTY);
+		String replay = System.getProperty(REPLAY_PROPERTY);
+		if(replay != null) {
+			return new ReplayTransport(transcript(replay), Boolean.getBoolean(REPLAY_REALTIME_PROPERTY));
+		}
+		
+		CoqTransport transport = new ProcessTransport(command);
+		if(record != null) {
+			transport = new RecordingTransport(transport, transcript(record));
+		}
+		return transport;
+	}
+	
+	/**
+	 * True if sessions are being recorded or replayed.  Their transcripts
+	 * are numbered in the order processes start, so then nothing should
+	 * start them ahead of when they're used.
+	 */
+	public static boolean isTranscribing() {
+		return System.getProperty(RECORD_PROPERTY) != null || System.getProperty(REPLAY_PROPERTY) != null;
+	}
+	
+	// the first session uses the file as given, later ones get a suffix
+	private static Path transcript(String file) {
+		int session = sessions.getAndIncrement();
+		return Paths.get(session == 0 ? file : file + "." + session);
+	}
+	
+	public synchronized void close() throws IOException {
+		synchronized(watch) {
+			disarm();
+			outstanding = 0;
+		}
+		if(this.transport != null) {
+			this.transport.close();
+			this.transport = null;
 		}
-		this.process = new ProcessBuilder().command(command).start();
-		this.writer = new PrintWriter(new OutputStreamWriter(process.getOutputStream()), true);
-		this.reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
 	}
 	
 	public abstract CoqAddToLoadPathMessage addToLoadPath(Path directory);
@@ -99,67 +205,164 @@ public abstract class CoqTop {
 	
 	public abstract CoqInterpMessage interp(String code);
 	
-	protected Document send(CoqCommand command) {
+	/**
+	 * Interprets each piece of code in order, sending several before
+	 * waiting for responses.  Stops at the first failure and undoes any
+	 * code that ran after it, so the returned list ends with the failed
+	 * message if there was one.
+	 */
+	public abstract List<? extends CoqInterpMessage> interp(List<String> codes);
+	
+	protected synchronized String send(CoqCommand command) {
+		boolean sent = false;
 		try {
-			sendCommand(command);			
-			return readMessage();
+			sendCommand(command);
+			sent = true;
+			return readMessage(command);
+		} catch(InterruptedIOException e) {
+			if(sent) throw abandon(e);
+			throw failure(e);
 		} catch(IOException e) {
-			throw new RuntimeException(e);
+			throw failure(e);
 		}
 	}
 	
-	protected void sendCommand(CoqCommand command) {
-    	String str = XMLUtils.docToString(command.getDoc());
-		if(DEBUG) {
-			System.out.println("Write:\t" + str);
+	protected RuntimeException failure(IOException e) {
+		if(lost) return new CoqStateLostException("coqtop was stopped and has to be restarted", e);
+		return new RuntimeException(e);
+	}
+	
+	/**
+	 * For when the caller gives up on commands coqtop already has.  coqtop
+	 * goes on with them, so the state it ends up in isn't known; it is
+	 * stopped, and everything sent to it fails until it's restarted.
+	 */
+	protected CoqStateLostException abandon(Exception cause) {
+		if(lost) return new CoqStateLostException("coqtop was stopped and has to be restarted", cause);
+		lost = true;
+		synchronized(watch) {
+			disarm();
+			outstanding = 0;
 		}
-		writer.write(str);
-		writer.write('\n');
-		writer.flush();
-    }
-    
-	protected static final int BUF_SIZE = 262144;
-	protected static final int NUM_TRIALS = 1024;
-    
-	protected Document readMessage() throws IOException {
-		while(!reader.ready()) {
+		CoqTransport transport = this.transport;
+		if(transport != null) {
 			try {
-				Thread.sleep(10);
-			} catch(InterruptedException e) {
+				transport.close();
+			} catch(IOException e) {
 				e.printStackTrace();
 			}
 		}
+		return new CoqStateLostException("coqtop was stopped after its caller gave up on a command", cause);
+	}
+	
+	protected void sendCommand(CoqCommand command) throws IOException {
+		if(lost) throw new IOException("coqtop was stopped");
+		long start = System.nanoTime();
+		command.write(encoder);
+		int length = encoder.length();
+		if(DEBUG) {
+			System.out.println("Write:\t" + encoder);
+		}
+		transport.write(encoder);
+		lastWritten = System.nanoTime();
+		synchronized(watch) {
+			if(outstanding++ == 0) arm(timeout);
+		}
 		
-		StringBuilder sb = new StringBuilder();
-		char[] buf = new char[BUF_SIZE];
-		int count = 0;
-		while(count < NUM_TRIALS) {
-			while(reader.ready()) {
-                int numRead = reader.read(buf, 0, BUF_SIZE);
-                if(numRead > 0) {
-                	sb.append(new String(buf,0,numRead));
-                }
-            }
-
-			if(DEBUG) {
-				System.out.println("trying to parse:"+sb);
+		metrics.record(command.getMethod(), CoqMetrics.Phase.WRITE, lastWritten - start);
+		metrics.recordBytes(command.getMethod(), length, 0);
+	}
+    
+	// reads the response to the given command
+	protected String readMessage(CoqCommand command) throws IOException {
+		// when pipelining, coqtop can't start on this one before the
+		// previous response is done
+		long since = Math.max(lastWritten, lastRead);
+		String response = transport.read();
+		lastRead = System.nanoTime();
+		answered();
+		
+		String method = command.getMethod();
+		long started = transport.getReadStarted();
+		if(started < 0) {
+			metrics.record(method, CoqMetrics.Phase.THINK, lastRead - since);
+		} else {
+			started = Math.max(started, since);
+			metrics.record(method, CoqMetrics.Phase.THINK, started - since);
+			metrics.record(method, CoqMetrics.Phase.READ, lastRead - started);
+		}
+		metrics.recordBytes(method, 0, response.length());
+		
+		if(DEBUG) {
+			System.out.println("Read:\t" + response);
+		}
+		return response;
+	}
+	
+	// the next command's deadline starts now, since coqtop works on one at
+	// a time
+	private void answered() {
+		synchronized(watch) {
+			disarm();
+			interrupted = false;
+			if(outstanding > 0) outstanding--;
+			if(outstanding > 0) arm(timeout);
+		}
+	}
+	
+	// must hold watch
+	private void arm(long millis) {
+		if(millis <= 0) return;
+		final int armed = ++generation;
+		deadline = DEADLINES.schedule(new Runnable() {
+			@Override
+			public void run() {
+				missed(armed);
 			}
-
+		}, millis, TimeUnit.MILLISECONDS);
+	}
+	
+	// must hold watch
+	private void disarm() {
+		generation++;
+		if(deadline != null) {
+			deadline.cancel(false);
+			deadline = null;
+		}
+	}
+	
+	// interrupts coqtop the first time, and stops it if it still hasn't
+	// answered after the grace period
+	private void missed(int armed) {
+		synchronized(watch) {
+			// answered in the meantime
+			if(armed != generation) return;
+			deadline = null;
+			
+			CoqTransport transport = this.transport;
+			if(transport == null) return;
 			try {
-				Document ret = XMLUtils.docFromString(sb.toString().trim());
-				return ret;
-			} catch(SAXException e) {
-				if(DEBUG) {
-					System.out.println("failed");
+				if(!interrupted && transport.interrupt()) {
+					interrupted = true;
+					arm(INTERRUPT_GRACE);
+					return;
 				}
-				try {
-					Thread.sleep(2 * count);
-				} catch(InterruptedException e1) { }
+			} catch(IOException e) {
+				e.printStackTrace();
+			}
+			
+			lost = true;
+			try {
+				transport.close();
+			} catch(IOException e) {
+				e.printStackTrace();
 			}
 		}
-		
-		return null;
-    }
+	}
+	
+	protected void decoded(CoqCommand command, long start) {
+		metrics.record(command.getMethod(), CoqMetrics.Phase.DECODE, System.nanoTime() - start);
+	}
 	
 	///////////////////////////////////////////////////////////////////////////
 	
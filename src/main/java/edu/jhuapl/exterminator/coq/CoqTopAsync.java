@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import edu.jhuapl.exterminator.coq.message.CoqAboutMessage;
+import edu.jhuapl.exterminator.coq.message.CoqAddToLoadPathMessage;
+import edu.jhuapl.exterminator.coq.message.CoqEVarsMessage;
+import edu.jhuapl.exterminator.coq.message.CoqGoalMessage;
+import edu.jhuapl.exterminator.coq.message.CoqHintsMessage;
+import edu.jhuapl.exterminator.coq.message.CoqInterpMessage;
+import edu.jhuapl.exterminator.coq.message.CoqRewindMessage;
+import edu.jhuapl.exterminator.coq.message.CoqStatusMessage;
+
+/**
+ * Queues requests to a CoqTop and runs them one at a time on a single
+ * thread, so callers get a Future back instead of blocking on coqtop.
+ * Each request carries its own deadline, which the CoqTop keeps from when
+ * coqtop can start on each of its commands: a command that runs past its
+ * deadline is interrupted and comes back as a failure, and if coqtop
+ * can't be interrupted the Future fails with a CoqStateLostException.
+ */
+public class CoqTopAsync {
+	
+	private final CoqTop coq;
+	
+	private final ExecutorService requests;
+	
+	private final long timeout;
+	
+	public CoqTopAsync(CoqTop coq) {
+		this(coq, 0);
+	}
+	
+	/**
+	 * @param timeout milliseconds coqtop may spend on each command of a
+	 * request, or 0 for no limit
+	 */
+	public CoqTopAsync(CoqTop coq, long timeout) {
+		this(Objects.requireNonNull(coq), Executors.newSingleThreadExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "coqtop-requests");
+				thread.setDaemon(true);
+				return thread;
+			}
+		}), timeout);
+	}
+	
+	private CoqTopAsync(CoqTop coq, ExecutorService requests, long timeout) {
+		this.coq = coq;
+		this.requests = requests;
+		this.timeout = timeout;
+	}
+	
+	public CoqTop getCoqTop() {
+		return coq;
+	}
+	
+	public long getTimeout() {
+		return timeout;
+	}
+	
+	/**
+	 * Returns a view of this that gives its requests the given timeout
+	 * instead.  They share the same queue, so shutting either down shuts
+	 * down both.
+	 */
+	public CoqTopAsync withTimeout(long timeout) {
+		if(timeout == this.timeout) return this;
+		return new CoqTopAsync(coq, requests, timeout);
+	}
+	
+	public <T> Future<T> submit(final Callable<T> request) {
+		return requests.submit(new Callable<T>() {
+			@Override
+			public T call() throws Exception {
+				// only one request runs at a time, so this can't change
+				// another's deadline
+				long previous = coq.getTimeout();
+				coq.setTimeout(timeout);
+				try {
+					return request.call();
+				} finally {
+					coq.setTimeout(previous);
+				}
+			}
+		});
+	}
+	
+	public Future<CoqAddToLoadPathMessage> addToLoadPath(final Path directory) {
+		return submit(new Callable<CoqAddToLoadPathMessage>() {
+			@Override
+			public CoqAddToLoadPathMessage call() {
+				return coq.addToLoadPath(directory);
+			}
+		});
+	}
+	
+	public Future<CoqAboutMessage> about() {
+		return submit(new Callable<CoqAboutMessage>() {
+			@Override
+			public CoqAboutMessage call() {
+				return coq.about();
+			}
+		});
+	}
+	
+	public Future<CoqStatusMessage> status() {
+		return submit(new Callable<CoqStatusMessage>() {
+			@Override
+			public CoqStatusMessage call() {
+				return coq.status();
+			}
+		});
+	}
+	
+	public Future<CoqGoalMessage> goal() {
+		return submit(new Callable<CoqGoalMessage>() {
+			@Override
+			public CoqGoalMessage call() {
+				return coq.goal();
+			}
+		});
+	}
+	
+	public Future<CoqEVarsMessage> evars() {
+		return submit(new Callable<CoqEVarsMessage>() {
+			@Override
+			public CoqEVarsMessage call() {
+				return coq.evars();
+			}
+		});
+	}
+	
+	public Future<CoqHintsMessage> hints() {
+		return submit(new Callable<CoqHintsMessage>() {
+			@Override
+			public CoqHintsMessage call() {
+				return coq.hints();
+			}
+		});
+	}
+	
+	public Future<CoqRewindMessage> rewind(final int steps) {
+		return submit(new Callable<CoqRewindMessage>() {
+			@Override
+			public CoqRewindMessage call() {
+				return coq.rewind(steps);
+			}
+		});
+	}
+	
+	public Future<CoqInterpMessage> interp(final String code) {
+		return submit(new Callable<CoqInterpMessage>() {
+			@Override
+			public CoqInterpMessage call() {
+				return coq.interp(code);
+			}
+		});
+	}
+	
+	public Future<List<? extends CoqInterpMessage>> interp(final List<String> codes) {
+		return submit(new Callable<List<? extends CoqInterpMessage>>() {
+			@Override
+			public List<? extends CoqInterpMessage> call() {
+				return coq.interp(codes);
+			}
+		});
+	}
+	
+	/**
+	 * Cancels everything queued.  A request coqtop is already working on is
+	 * abandoned, which stops coqtop.
+	 */
+	public void shutdown() {
+		requests.shutdownNow();
+	}
+	
+}
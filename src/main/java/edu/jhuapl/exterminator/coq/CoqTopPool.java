@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import edu.jhuapl.exterminator.coq.message.CoqAddToLoadPathMessage;
+import edu.jhuapl.exterminator.coq.message.CoqInterpMessage;
+
+/**
+ * Keeps coqtop processes started in the background with a load path and
+ * a list of Requires already applied, so loading a file can take one that
+ * is ready instead of starting and preparing a new process.
+ */
+public class CoqTopPool {
+	
+	private final int size;
+	
+	private final ExecutorService spawner;
+	
+	// guarded by this
+	private final Deque<Worker> ready;
+	
+	// what the ready workers were prepared for
+	private Preamble preamble;
+	
+	private int starting;
+	
+	private boolean closed;
+	
+	public CoqTopPool(int size) {
+		// starting processes in the background would number transcripts in
+		// whatever order they happened to start, not the order they're used
+		this.size = CoqTop.isTranscribing() ? 0 : size;
+		this.spawner = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "coqtop-pool");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		this.ready = new ArrayDeque<>();
+		this.preamble = null;
+		this.starting = 0;
+		this.closed = false;
+	}
+	
+	/**
+	 * Returns a worker for the given load path and Requires.  If none is
+	 * ready one is started on the calling thread.  Either way the pool
+	 * starts replacements for the same preamble in the background.
+	 */
+	public Worker lease(Path directory, List<String> requires) throws IOException {
+		Preamble wanted = new Preamble(directory, requires);
+		Worker worker = null;
+		synchronized(this) {
+			if(closed) throw new IOException("Pool is closed");
+			
+			if(!wanted.equals(preamble)) {
+				preamble = wanted;
+				discardReady();
+			}
+			worker = ready.poll();
+			refill();
+		}
+		
+		if(worker == null) {
+			worker = start(wanted);
+		}
+		return worker;
+	}
+	
+	// must hold the lock
+	private void refill() {
+		while(ready.size() + starting < size) {
+			starting++;
+			final Preamble p = preamble;
+			spawner.submit(new Runnable() {
+				@Override
+				public void run() {
+					Worker worker = null;
+					try {
+						worker = start(p);
+					} catch(IOException | RuntimeException e) {
+						e.printStackTrace();
+					} finally {
+						finished(p, worker);
+					}
+				}
+			});
+		}
+	}
+	
+	private synchronized void finished(Preamble p, Worker worker) {
+		starting--;
+		if(worker == null) return;
+		
+		if(!closed && p.equals(preamble)) {
+			ready.add(worker);
+		} else {
+			worker.close();
+		}
+	}
+	
+	// must hold the lock
+	private void discardReady() {
+		for(Worker worker : ready) {
+			worker.close();
+		}
+		ready.clear();
+	}
+	
+	private static Worker start(Preamble p) throws IOException {
+		CoqTop coq = CoqTop.instance();
+		
+		CoqAddToLoadPathMessage path = coq.addToLoadPath(p.directory);
+		if(!path.statusIsGood()) {
+			coq.close();
+			throw new IOException("Adding " + p.directory + " to the load path failed: " +
+					path.getErrorMessage());
+		}
+		
+		// stop at the first failure and leave the rest to the caller
+		int applied = 0;
+		for(String require : p.requires) {
+			CoqInterpMessage message = coq.interp(require);
+			if(!message.statusIsGood()) break;
+			applied++;
+		}
+		return new Worker(coq, applied);
+	}
+	
+	public synchronized void close() {
+		closed = true;
+		discardReady();
+		spawner.shutdownNow();
+	}
+	
+	///////////////////////////////////////////////////////////////////////////
+	
+	public static class Worker {
+		
+		private final CoqTop coq;
+		
+		private final int appliedRequires;
+		
+		private Worker(CoqTop coq, int appliedRequires) {
+			this.coq = coq;
+			this.appliedRequires = appliedRequires;
+		}
+		
+		public CoqTop getCoqTop() {
+			return coq;
+		}
+		
+		// how many of the Requires were sent successfully, in order
+		public int getAppliedRequires() {
+			return appliedRequires;
+		}
+		
+		private void close() {
+			try {
+				coq.close();
+			} catch(IOException e) {
+				e.printStackTrace();
+			}
+		}
+		
+	}
+	
+	private static class Preamble {
+		
+		private final Path directory;
+		
+		private final List<String> requires;
+		
+		private Preamble(Path directory, List<String> requires) {
+			this.directory = Objects.requireNonNull(directory).toAbsolutePath();
+			this.requires = Collections.unmodifiableList(new ArrayList<>(requires));
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(directory, requires);
+		}
+		
+		@Override
+		public boolean equals(Object anObj) {
+			if(anObj == this) return true;
+			if(anObj == null || !(anObj instanceof Preamble)) return false;
+			
+			Preamble p = (Preamble)anObj;
+			return directory.equals(p.directory) && requires.equals(p.requires);
+		}
+		
+	}
+	
+}
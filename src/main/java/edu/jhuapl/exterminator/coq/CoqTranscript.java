@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The file format shared by RecordingTransport and ReplayTransport.  Each
+ * line is one frame: a direction, the time in microseconds since the
+ * transport was opened, and the frame with newlines escaped.
+ * <pre>
+ * &gt; 0 &lt;call val="goal"/&gt;
+ * &lt; 8213 &lt;value val="good"&gt;...&lt;/value&gt;
+ * </pre>
+ */
+public class CoqTranscript {
+
+	public static final char COMMAND = '>';
+	
+	public static final char RESPONSE = '<';
+	
+	public static class Entry {
+		
+		public final char direction;
+		
+		public final long micros;
+		
+		public final String frame;
+		
+		public Entry(char direction, long micros, String frame) {
+			this.direction = direction;
+			this.micros = micros;
+			this.frame = frame;
+		}
+		
+		public boolean isCommand() {
+			return direction == COMMAND;
+		}
+		
+		@Override
+		public String toString() {
+			return direction + " " + micros + " " + escape(frame);
+		}
+		
+	}
+	
+	public static void write(BufferedWriter out, Entry entry) throws IOException {
+		out.write(entry.toString());
+		out.newLine();
+		out.flush();
+	}
+	
+	public static List<Entry> read(Path file) throws IOException {
+		List<Entry> entries = new ArrayList<>();
+		int lineNum = 0;
+		for(String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			lineNum++;
+			if(line.isEmpty()) continue;
+			
+			int space = line.indexOf(' ', 2);
+			char direction = line.charAt(0);
+			if(space < 0 || line.charAt(1) != ' ' ||
+					(direction != COMMAND && direction != RESPONSE)) {
+				throw new IOException("Malformed transcript line " + lineNum + " in " + file);
+			}
+			
+			long micros;
+			try {
+				micros = Long.parseLong(line.substring(2, space));
+			} catch(NumberFormatException e) {
+				throw new IOException("Malformed time on line " + lineNum + " in " + file, e);
+			}
+			entries.add(new Entry(direction, micros, unescape(line.substring(space + 1))));
+		}
+		return entries;
+	}
+	
+	static String escape(String str) {
+		StringBuilder sb = new StringBuilder(str.length());
+		for(int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			switch(c) {
+			case '\\': sb.append("\\\\"); break;
+			case '\n': sb.append("\\n"); break;
+			case '\r': sb.append("\\r"); break;
+			default: sb.append(c); break;
+			}
+		}
+		return sb.toString();
+	}
+	
+	static String unescape(String str) {
+		StringBuilder sb = new StringBuilder(str.length());
+		for(int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			if(c == '\\' && i + 1 < str.length()) {
+				char next = str.charAt(++i);
+				switch(next) {
+				case 'n': sb.append('\n'); break;
+				case 'r': sb.append('\r'); break;
+				default: sb.append(next); break;
+				}
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+	
+}
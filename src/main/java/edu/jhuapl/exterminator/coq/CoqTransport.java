@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.io.IOException;
+
+/**
+ * Carries command frames to coqtop and responses back.  CoqTop talks to
+ * a real process through ProcessTransport; the others let a session be
+ * recorded and served back without Coq installed.
+ */
+public interface CoqTransport {
+
+	/**
+	 * Writes the frame held by the writer, which is reset afterwards.
+	 */
+	public void write(CoqXMLWriter frame) throws IOException;
+	
+	/**
+	 * Blocks until the next complete response is available.
+	 */
+	public String read() throws IOException;
+	
+	/**
+	 * @return System.nanoTime() when the first character of the response
+	 * last returned by read() arrived, or -1 if that isn't known
+	 */
+	public long getReadStarted();
+	
+	/**
+	 * Asks coqtop to give up on the command it is working on.  coqtop
+	 * answers that command with a failure and leaves its state as it was.
+	 * @return false if this transport can't interrupt coqtop
+	 */
+	public boolean interrupt() throws IOException;
+	
+	public void close() throws IOException;
+	
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Pull parser over a single ide-slave response.  Each parse method reads
+ * one complete element, so messages are decoded in document order without
+ * building a tree.
+ */
+public class CoqXMLReader {
+
+	private static final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+
+	private final String xml;
+
+	private final XMLStreamReader in;
+
+	// true if the current event was read by a peek and not yet consumed
+	private boolean peeked;
+
+	public CoqXMLReader(String xml) {
+		this.xml = Objects.requireNonNull(xml);
+		try {
+			this.in = inputFactory.createXMLStreamReader(new StringReader(xml));
+		} catch(XMLStreamException e) {
+			throw new IllegalArgumentException(e);
+		}
+		this.peeked = false;
+	}
+
+	public String getXML() {
+		return xml;
+	}
+
+	private int nextTag() {
+		if(peeked) {
+			peeked = false;
+			return in.getEventType();
+		}
+		try {
+			return in.nextTag();
+		} catch(XMLStreamException e) {
+			throw new IllegalArgumentException("Malformed response: " + xml, e);
+		}
+	}
+
+	public boolean hasNextChild() {
+		int event = nextTag();
+		peeked = true;
+		return event == XMLStreamConstants.START_ELEMENT;
+	}
+
+	public String peekName() {
+		return hasNextChild() ? in.getLocalName() : null;
+	}
+
+	public void start(String name) {
+		if(nextTag() != XMLStreamConstants.START_ELEMENT ||
+				!in.getLocalName().equalsIgnoreCase(name)) {
+			throw new IllegalArgumentException("Node is not " + name + ": " + describe());
+		}
+	}
+
+	public void end(String name) {
+		if(nextTag() != XMLStreamConstants.END_ELEMENT ||
+				!in.getLocalName().equalsIgnoreCase(name)) {
+			throw new IllegalArgumentException("Malformed " + name + ": " + describe());
+		}
+	}
+
+	public String getAttribute(String name) {
+		return in.getAttributeValue(null, name);
+	}
+
+	// the text of the element just started, including its end tag
+	public String text() {
+		try {
+			return in.getElementText();
+		} catch(XMLStreamException e) {
+			throw new IllegalArgumentException("Malformed response: " + xml, e);
+		}
+	}
+
+	// all text below the element just started, including its end tag
+	public String textContent() {
+		StringBuilder sb = new StringBuilder();
+		int depth = 1;
+		try {
+			while(depth > 0) {
+				switch(in.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					depth++;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					depth--;
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					sb.append(in.getText());
+					break;
+				default:
+					break;
+				}
+			}
+		} catch(XMLStreamException e) {
+			throw new IllegalArgumentException("Malformed response: " + xml, e);
+		}
+		return sb.toString();
+	}
+
+	public void skip() {
+		start(peekName());
+		textContent();
+	}
+
+	///////////////////////////////////////////////////////////////////////////
+
+	public String parseString() {
+		start("string");
+		return text();
+	}
+
+	public int parseInt() {
+		start("int");
+		return Integer.parseInt(text().trim());
+	}
+
+	public List<String> parseStringList() {
+		start("list");
+		List<String> strings = new ArrayList<>();
+		while(hasNextChild()) {
+			strings.add(parseString());
+		}
+		end("list");
+		return strings;
+	}
+
+	// reads the option tag and returns true if a value follows; if so
+	// the caller must read it and then call end("option")
+	public boolean startOption() {
+		start("option");
+		String val = getAttribute("val");
+		if(val != null && val.equalsIgnoreCase("some")) {
+			if(!hasNextChild()) {
+				throw new IllegalArgumentException("Doesn't have children: " + describe());
+			}
+			return true;
+		}
+		textContent();
+		return false;
+	}
+
+	public String parseOptionString() {
+		if(!startOption()) return null;
+		String str = parseString();
+		end("option");
+		return str;
+	}
+
+	private String describe() {
+		String name = in.hasName() ? in.getLocalName() : "?";
+		return name + " at " + in.getLocation().getCharacterOffset() + " in " + xml;
+	}
+
+}
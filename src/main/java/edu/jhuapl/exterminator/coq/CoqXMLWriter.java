@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes ide-slave frames directly as text.  The buffer is kept between
+ * frames so encoding a command doesn't allocate once it has grown to size.
+ */
+public class CoqXMLWriter {
+
+	private final StringBuilder buf;
+
+	// true while the attributes of the last start tag may still be written
+	private boolean open;
+
+	private char[] chars;
+
+	public CoqXMLWriter() {
+		this.buf = new StringBuilder(256);
+		this.open = false;
+		this.chars = new char[256];
+	}
+
+	public CoqXMLWriter start(String name) {
+		closeStart();
+		buf.append('<').append(name);
+		open = true;
+		return this;
+	}
+
+	public CoqXMLWriter attribute(String name, String value) {
+		if(!open) {
+			throw new IllegalStateException("Attribute " + name + " outside of a start tag.");
+		}
+		buf.append(' ').append(name).append("=\"");
+		escape(value, true);
+		buf.append('"');
+		return this;
+	}
+
+	public CoqXMLWriter text(String str) {
+		closeStart();
+		escape(str, false);
+		return this;
+	}
+
+	public CoqXMLWriter end(String name) {
+		if(open) {
+			buf.append("/>");
+			open = false;
+		} else {
+			buf.append("</").append(name).append('>');
+		}
+		return this;
+	}
+
+	private void closeStart() {
+		if(open) {
+			buf.append('>');
+			open = false;
+		}
+	}
+
+	private void escape(String str, boolean attribute) {
+		for(int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			switch(c) {
+			case '&': buf.append("&amp;"); break;
+			case '<': buf.append("&lt;"); break;
+			case '>': buf.append("&gt;"); break;
+			case '"':
+				if(attribute) buf.append("&quot;");
+				else buf.append(c);
+				break;
+			case '\n':
+			case '\r':
+				// a frame has to stay on one line
+				buf.append(' ');
+				break;
+			default: buf.append(c); break;
+			}
+		}
+	}
+
+	public int length() {
+		return buf.length();
+	}
+
+	public void reset() {
+		buf.setLength(0);
+		open = false;
+	}
+
+	// writes the buffered frame and resets the buffer for the next one
+	public void writeTo(Writer out) throws IOException {
+		closeStart();
+		int n = buf.length();
+		if(chars.length < n) {
+			chars = new char[Math.max(n, chars.length * 2)];
+		}
+		buf.getChars(0, n, chars, 0);
+		out.write(chars, 0, n);
+		reset();
+	}
+
+	@Override
+	public String toString() {
+		return buf.toString();
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Runs coqtop as a child process and talks to it over its standard
+ * input and output.
+ */
+public class ProcessTransport implements CoqTransport {
+
+	private final Process process;
+	
+	private final PrintWriter writer;
+	
+	private final CoqResponseReader reader;
+	
+	public ProcessTransport(String... command) throws IOException {
+		this.process = new ProcessBuilder().command(command).start();
+		this.writer = new PrintWriter(new OutputStreamWriter(process.getOutputStream()), true);
+		this.reader = new CoqResponseReader(process.getInputStream());
+		this.reader.start();
+	}
+	
+	@Override
+	public void write(CoqXMLWriter frame) throws IOException {
+		frame.writeTo(writer);
+		writer.write('\n');
+		writer.flush();
+	}
+	
+	@Override
+	public String read() throws IOException {
+		return reader.take();
+	}
+	
+	@Override
+	public long getReadStarted() {
+		return reader.getLastStarted();
+	}
+	
+	// the same signal CoqIDE sends to stop a command
+	@Override
+	public boolean interrupt() throws IOException {
+		String pid = pid(process);
+		if(pid == null) return false;
+		
+		Process kill = new ProcessBuilder("kill", "-INT", pid).start();
+		try {
+			return kill.waitFor() == 0;
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted signalling coqtop");
+		}
+	}
+	
+	// Process.pid() is public from Java 9 on, but this builds for Java 7;
+	// before 9, Unix processes keep it in a private field instead
+	private static String pid(Process process) {
+		try {
+			Method method = Process.class.getMethod("pid");
+			return String.valueOf(method.invoke(process));
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			// older than Java 9
+		}
+		try {
+			Field field = process.getClass().getDeclaredField("pid");
+			field.setAccessible(true);
+			return String.valueOf(field.getInt(process));
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		reader.close();
+		writer.close();
+		process.destroy();
+	}
+	
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Passes everything through to another transport and writes each frame
+ * to a transcript that ReplayTransport can serve back later.
+ */
+public class RecordingTransport implements CoqTransport {
+
+	private final CoqTransport inner;
+	
+	private final BufferedWriter out;
+	
+	private final long start;
+	
+	public RecordingTransport(CoqTransport inner, Path transcript) throws IOException {
+		this.inner = Objects.requireNonNull(inner);
+		this.out = Files.newBufferedWriter(transcript, StandardCharsets.UTF_8);
+		this.start = System.nanoTime();
+	}
+	
+	private long now() {
+		return (System.nanoTime() - start) / 1000;
+	}
+	
+	@Override
+	public void write(CoqXMLWriter frame) throws IOException {
+		String text = frame.toString();
+		long micros = now();
+		inner.write(frame);
+		synchronized(out) {
+			CoqTranscript.write(out, new CoqTranscript.Entry(CoqTranscript.COMMAND, micros, text));
+		}
+	}
+	
+	@Override
+	public String read() throws IOException {
+		String response = inner.read();
+		long micros = now();
+		synchronized(out) {
+			CoqTranscript.write(out, new CoqTranscript.Entry(CoqTranscript.RESPONSE, micros, response));
+		}
+		return response;
+	}
+	
+	@Override
+	public long getReadStarted() {
+		return inner.getReadStarted();
+	}
+	
+	@Override
+	public boolean interrupt() throws IOException {
+		return inner.interrupt();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			inner.close();
+		} finally {
+			out.close();
+		}
+	}
+	
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Stands in for coqtop by serving the responses from a transcript made by
+ * RecordingTransport.  Commands have to match the transcript in order.
+ * Responses come back either immediately or after the delay that was
+ * recorded between them and the command before them.
+ */
+public class ReplayTransport implements CoqTransport {
+
+	private final List<CoqTranscript.Entry> entries;
+	
+	private final boolean realTime;
+	
+	// when each command entry was written during the replay
+	private final long[] replayedAt;
+	
+	private int nextCommand;
+	
+	private int nextResponse;
+	
+	public ReplayTransport(Path transcript, boolean realTime) throws IOException {
+		this(CoqTranscript.read(transcript), realTime);
+	}
+	
+	public ReplayTransport(List<CoqTranscript.Entry> entries, boolean realTime) {
+		this.entries = entries;
+		this.realTime = realTime;
+		this.replayedAt = new long[entries.size()];
+		this.nextCommand = 0;
+		this.nextResponse = 0;
+	}
+	
+	@Override
+	public synchronized void write(CoqXMLWriter frame) throws IOException {
+		String text = frame.toString();
+		frame.reset();
+		
+		int i = next(nextCommand, true);
+		if(i < 0) {
+			throw new IOException("Transcript has no more commands for " + text);
+		}
+		String expected = entries.get(i).frame;
+		if(!expected.equals(text)) {
+			throw new IOException("Transcript expected " + expected + " but got " + text);
+		}
+		replayedAt[i] = System.nanoTime();
+		nextCommand = i + 1;
+	}
+	
+	@Override
+	public synchronized String read() throws IOException {
+		int i = next(nextResponse, false);
+		if(i < 0) {
+			throw new IOException("Transcript has no more responses");
+		}
+		
+		// the command this answers is the last one before it
+		int command = i - 1;
+		while(command >= 0 && !entries.get(command).isCommand()) command--;
+		if(command >= nextCommand) {
+			throw new IOException("Response read before its command was written");
+		}
+		
+		CoqTranscript.Entry entry = entries.get(i);
+		if(realTime && command >= 0) {
+			long delay = (entry.micros - entries.get(command).micros) * 1000;
+			long wait = replayedAt[command] + delay - System.nanoTime();
+			if(wait > 0) {
+				try {
+					Thread.sleep(wait / 1000000, (int)(wait % 1000000));
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted waiting for coqtop");
+				}
+			}
+		}
+		
+		nextResponse = i + 1;
+		return entry.frame;
+	}
+	
+	@Override
+	public long getReadStarted() {
+		return -1;
+	}
+	
+	@Override
+	public boolean interrupt() {
+		// the transcript already has whatever coqtop answered
+		return true;
+	}
+	
+	private int next(int from, boolean command) {
+		for(int i = from; i < entries.size(); i++) {
+			if(entries.get(i).isCommand() == command) return i;
+		}
+		return -1;
+	}
+	
+	@Override
+	public void close() {
+	}
+	
+}
@@ -36,13 +36,12 @@ package edu.jhuapl.exterminator.coq.coq84;
 import java.util.Objects;
 
 import edu.jhuapl.exterminator.coq.CoqCommand;
-import edu.jhuapl.exterminator.coq.XMLUtils;
 
 public abstract class Coq84Command implements CoqCommand {
 	
 	@Override
 	public int hashCode() {
-		return getDoc().hashCode();
+		return getXML().hashCode();
 	}
 	
 	@Override
@@ -51,12 +50,12 @@ public abstract class Coq84Command implements CoqCommand {
 		if(anObj == null || !(anObj instanceof Coq84Command)) return false;
 		
 		Coq84Command c = (Coq84Command)anObj;
-		return Objects.equals(getDoc(), c.getDoc());
+		return Objects.equals(getXML(), c.getXML());
 	}
 	
 	@Override
 	public String toString() {
-		return XMLUtils.docToString(getDoc());
+		return getXML();
 	}
 	
 }
@@ -36,36 +36,58 @@ package edu.jhuapl.exterminator.coq.coq84;
 import java.util.Objects;
 
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
 
 import edu.jhuapl.exterminator.coq.CoqMessage;
+import edu.jhuapl.exterminator.coq.CoqXMLReader;
 import edu.jhuapl.exterminator.coq.XMLUtils;
 
 public abstract class Coq84Message implements CoqMessage {
 
-	protected final Document doc;
-	
-	protected final Element value;
+	public static final String VALUE = "value";
+
+	protected final String xml;
 	
 	protected final Status status;
 	
-	protected Coq84Message(Document doc) {
-		this.doc = Objects.requireNonNull(doc);
-		this.value = doc.getDocumentElement();
-		if(!value.getNodeName().equalsIgnoreCase("value")) {
-			throw new IllegalArgumentException("XML does not have value node.");
-		}
+	protected final String errorMessage;
+	
+	private Document doc;
+	
+	// leaves the reader inside the value element if the status is good
+	protected Coq84Message(CoqXMLReader in) {
+		this.xml = in.getXML();
+		in.start(VALUE);
 		
-		String stat = value.getAttribute("val");
+		String stat = in.getAttribute("val");
 		if(stat == null || stat.isEmpty()) {
 			throw new IllegalArgumentException("Value does not have val attribute.");
 		}
 		// will throw illegalargumentexception
 		this.status = Status.valueOf(stat.toUpperCase());
+		
+		if(status == Status.GOOD) {
+			this.errorMessage = null;
+		} else {
+			this.errorMessage = in.textContent();
+		}
+	}
+	
+	@Override
+	public String getXML() {
+		return xml;
 	}
 	
 	@Override
-	public Document getDoc() {
+	public synchronized Document getDoc() {
+		// only built if somebody asks for it
+		if(doc == null) {
+			try {
+				doc = XMLUtils.docFromString(xml);
+			} catch(SAXException e) {
+				throw new IllegalStateException(e);
+			}
+		}
 		return doc;
 	}
 	
@@ -81,18 +103,14 @@ public abstract class Coq84Message implements CoqMessage {
 	
 	@Override
 	public String getErrorMessage() {
-		if(!statusIsGood()) {
-			return value.getTextContent();
-		} else {
-			return null;
-		}
+		return errorMessage;
 	}
 	
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
 	public int hashCode() {
-		return doc.hashCode();
+		return xml.hashCode();
 	}
 	
 	@Override
@@ -101,12 +119,12 @@ public abstract class Coq84Message implements CoqMessage {
 		if(anObj == null || !(anObj instanceof Coq84Message)) return false;
 		
 		Coq84Message m = (Coq84Message)anObj;
-		return Objects.equals(doc, m.doc);
+		return Objects.equals(xml, m.xml);
 	}
 	
 	@Override
 	public String toString() {
-		return XMLUtils.docToString(doc);
+		return xml;
 	}
 	
 }
@@ -35,8 +35,13 @@ package edu.jhuapl.exterminator.coq.coq84;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Objects;
 
+import edu.jhuapl.exterminator.coq.CoqStateLostException;
 import edu.jhuapl.exterminator.coq.CoqTop;
 import edu.jhuapl.exterminator.coq.coq84.command.Coq84AboutCommand;
 import edu.jhuapl.exterminator.coq.coq84.command.Coq84AddToLoadPathCommand;
@@ -117,50 +122,171 @@ https://github.com/coq/coq/blob/V8.4pl4/toplevel/interface.mli
     public Coq84AddToLoadPathMessage addToLoadPath(Path directory) {
         Coq84AddToLoadPathCommand command = Coq84AddToLoadPathCommand.instance(interpID, directory);
         interpID++;
-        return new Coq84AddToLoadPathMessage(command, send(command));
+        String xml = send(command);
+        long start = System.nanoTime();
+        try {
+            return new Coq84AddToLoadPathMessage(command, xml);
+        } finally {
+            decoded(command, start);
+        }
     }
 
     @Override
     public Coq84AboutMessage about() {
         Coq84AboutCommand command = Coq84AboutCommand.instance();
-        return new Coq84AboutMessage(command, send(command));
+        String xml = send(command);
+        long start = System.nanoTime();
+        try {
+            return new Coq84AboutMessage(command, xml);
+        } finally {
+            decoded(command, start);
+        }
     }
 
     @Override
     public Coq84StatusMessage status() {
         Coq84StatusCommand command = Coq84StatusCommand.instance();
-        return new Coq84StatusMessage(command, send(command));
+        String xml = send(command);
+        long start = System.nanoTime();
+        try {
+            return new Coq84StatusMessage(command, xml);
+        } finally {
+            decoded(command, start);
+        }
     }
 
     @Override
     public Coq84GoalMessage goal() {
         Coq84GoalCommand command = Coq84GoalCommand.instance();
-        return new Coq84GoalMessage(command, send(command));
+        String xml = send(command);
+        long start = System.nanoTime();
+        try {
+            return new Coq84GoalMessage(command, xml);
+        } finally {
+            decoded(command, start);
+        }
     }
 
     @Override
     public Coq84EVarsMessage evars() {
         Coq84EVarsCommand command = Coq84EVarsCommand.instance();
-        return new Coq84EVarsMessage(command, send(command));
+        String xml = send(command);
+        long start = System.nanoTime();
+        try {
+            return new Coq84EVarsMessage(command, xml);
+        } finally {
+            decoded(command, start);
+        }
     }
 
     @Override
     public Coq84HintsMessage hints() {
         Coq84HintsCommand command = Coq84HintsCommand.instance();
-        return new Coq84HintsMessage(command, send(command));
+        String xml = send(command);
+        long start = System.nanoTime();
+        try {
+            return new Coq84HintsMessage(command, xml);
+        } finally {
+            decoded(command, start);
+        }
     }
 
     @Override
     public Coq84RewindMessage rewind(int steps) {
         Coq84RewindCommand command = Coq84RewindCommand.instance(steps);
-        return new Coq84RewindMessage(command, send(command));
+        String xml = send(command);
+        long start = System.nanoTime();
+        try {
+            return new Coq84RewindMessage(command, xml);
+        } finally {
+            decoded(command, start);
+        }
     }
 
     @Override
     public Coq84InterpMessage interp(String code) {
         Coq84InterpCommand command = Coq84InterpCommand.instance(interpID, Objects.requireNonNull(code));
         interpID++;
-        return new Coq84InterpMessage(command, send(command));
+        String xml = send(command);
+        long start = System.nanoTime();
+        try {
+            return new Coq84InterpMessage(command, xml);
+        } finally {
+            decoded(command, start);
+        }
+    }
+
+    @Override
+    public synchronized List<Coq84InterpMessage> interp(List<String> codes) {
+        List<Coq84InterpMessage> messages = new ArrayList<>(codes.size());
+        Deque<Coq84InterpCommand> pending = new ArrayDeque<>();
+        int next = 0;
+        boolean failed = false;
+        // commands that succeeded after the failure and have to be undone
+        int extra = 0;
+
+        try {
+            while(next < codes.size() || !pending.isEmpty()) {
+                while(!failed && next < codes.size() && pending.size() < PIPELINE_WINDOW) {
+                    Coq84InterpCommand command = Coq84InterpCommand.instance(interpID,
+                            Objects.requireNonNull(codes.get(next)));
+                    interpID++;
+                    next++;
+                    sendCommand(command);
+                    pending.add(command);
+                }
+
+                Coq84InterpCommand command = pending.peek();
+                String xml = readMessage(command);
+                pending.remove();
+
+                long start = System.nanoTime();
+                Coq84InterpMessage message = new Coq84InterpMessage(command, xml);
+                decoded(command, start);
+                if(failed) {
+                    if(message.statusIsGood()) extra++;
+                } else {
+                    messages.add(message);
+                    failed = !message.statusIsGood();
+                }
+            }
+        } catch(IOException | RuntimeException e) {
+            // a command stays pending until its response is read, so if
+            // any are left coqtop is still working on them
+            if(!pending.isEmpty()) throw abandon(e);
+            if(e instanceof IOException) throw failure((IOException)e);
+            throw (RuntimeException)e;
+        }
+
+        if(extra > 0) {
+            undo(extra, codes, messages);
+        }
+        return messages;
+    }
+
+    // undoes the commands that ran after the one that failed; if coqtop
+    // backs up further than that, the ones before the failure that it
+    // undid are sent again, as the GUI does after a rewind
+    private void undo(int extra, List<String> codes, List<Coq84InterpMessage> messages) {
+        Coq84RewindMessage message = rewind(extra);
+        if(!message.statusIsGood()) {
+            throw new CoqStateLostException("Undoing " + extra +
+                    " commands after a failed batch failed: " + message.getErrorMessage());
+        }
+
+        int succeeded = messages.size() - 1;
+        int more = message.getExtraBacktracking();
+        if(more > succeeded) {
+            throw new CoqStateLostException("coqtop backed up " + (more - succeeded) +
+                    " commands past the start of the batch");
+        }
+        for(int i = succeeded - more; i < succeeded; i++) {
+            Coq84InterpMessage redo = interp(codes.get(i));
+            if(!redo.statusIsGood()) {
+                throw new CoqStateLostException("Resending " + codes.get(i) +
+                        " after undoing a failed batch failed: " + redo.getErrorMessage());
+            }
+        }
     }
 
     ///////////////////////////////////////////////////////////////////////////
@@ -33,9 +33,13 @@
  */
 package edu.jhuapl.exterminator.coq.coq84.command;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
 
+import edu.jhuapl.exterminator.coq.CoqXMLWriter;
 import edu.jhuapl.exterminator.coq.XMLUtils;
 import edu.jhuapl.exterminator.coq.coq84.Coq84Command;
 
@@ -45,22 +49,63 @@ public abstract class Coq84CallCommand extends Coq84Command {
 	
 	public static final String VAL = "val";
 	
-	private final Document doc;
+	private final String method;
+	
+	private final String inner;
+	
+	private final Map<String, String> attributes;
 	
-	protected final Element root;
+	private String xml;
+	
+	private Document doc;
 	
 	protected Coq84CallCommand(String method, String inner) {
-		this.doc = XMLUtils.makeDocument();
-		root = doc.createElement(COMMAND);
-		doc.appendChild(root);
-		root.setAttribute(VAL, method);
+		this.method = method;
+		this.inner = inner;
+		this.attributes = new LinkedHashMap<>();
+	}
+	
+	protected void setAttribute(String name, String value) {
+		attributes.put(name, value);
+	}
+	
+	@Override
+	public String getMethod() {
+		return method;
+	}
+	
+	@Override
+	public void write(CoqXMLWriter out) {
+		out.start(COMMAND).attribute(VAL, method);
+		for(Map.Entry<String, String> e : attributes.entrySet()) {
+			out.attribute(e.getKey(), e.getValue());
+		}
 		if(inner != null) {
-			root.setTextContent(inner);
+			out.text(inner);
 		}
+		out.end(COMMAND);
 	}
 	
 	@Override
-	public Document getDoc() {
+	public synchronized String getXML() {
+		if(xml == null) {
+			CoqXMLWriter out = new CoqXMLWriter();
+			write(out);
+			xml = out.toString();
+		}
+		return xml;
+	}
+	
+	@Override
+	public synchronized Document getDoc() {
+		// only built if somebody asks for it
+		if(doc == null) {
+			try {
+				doc = XMLUtils.docFromString(getXML());
+			} catch(SAXException e) {
+				throw new IllegalStateException(e);
+			}
+		}
 		return doc;
 	}
 	
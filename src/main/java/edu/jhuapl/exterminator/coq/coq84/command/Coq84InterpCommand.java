@@ -50,9 +50,9 @@ public class Coq84InterpCommand extends Coq84CallCommand implements CoqInterpCom
         this.id = id;
         this.code = Objects.requireNonNull(code);
 
-        //root.setAttribute("raw", "true");
-        root.setAttribute("verbose", "true");
-        root.setAttribute("id", Integer.toString(id));
+        //setAttribute("raw", "true");
+        setAttribute("verbose", "true");
+        setAttribute("id", Integer.toString(id));
     }
 
     public int getID() {
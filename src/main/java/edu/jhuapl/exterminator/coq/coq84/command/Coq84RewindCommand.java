@@ -46,7 +46,7 @@ public class Coq84RewindCommand extends Coq84CallCommand implements CoqRewindCom
 	private Coq84RewindCommand(int steps) {
 		super(METHOD, null);
 		this.steps = steps;
-		root.setAttribute(ATTR_STEPS, Integer.toString(steps));
+		setAttribute(ATTR_STEPS, Integer.toString(steps));
 	}
 
 	@Override
@@ -35,10 +35,7 @@ package edu.jhuapl.exterminator.coq.coq84.message;
 
 import java.util.Objects;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-
-import edu.jhuapl.exterminator.coq.CoqUtils;
+import edu.jhuapl.exterminator.coq.CoqXMLReader;
 import edu.jhuapl.exterminator.coq.coq84.Coq84Message;
 import edu.jhuapl.exterminator.coq.coq84.command.Coq84AboutCommand;
 import edu.jhuapl.exterminator.coq.message.CoqAboutMessage;
@@ -47,38 +44,33 @@ public class Coq84AboutMessage extends Coq84Message implements CoqAboutMessage {
 	
 	private final Coq84AboutCommand command;
 	
-	private final Node info;
-	
 	private final String version, protocol, release, compile;
 
-	public Coq84AboutMessage(Coq84AboutCommand command, Document doc) {
-		super(doc);
+	public Coq84AboutMessage(Coq84AboutCommand command, String xml) {
+		this(command, new CoqXMLReader(xml));
+	}
+	
+	protected Coq84AboutMessage(Coq84AboutCommand command, CoqXMLReader in) {
+		super(in);
 		
 		this.command = Objects.requireNonNull(command);
 		
-		if(value.getChildNodes().getLength() != 1) {
-			throw new IllegalArgumentException("Value has too many children.");
-		}
-		this.info = value.getFirstChild();
-		if(!info.getNodeName().equalsIgnoreCase("coq_info")) {
-			throw new IllegalArgumentException("Info node is not of type coq_info.");
+		if(!statusIsGood()) {
+			this.version = null;
+			this.protocol = null;
+			this.release = null;
+			this.compile = null;
+			return;
 		}
 		
-		if(info.getChildNodes().getLength() != 4) {
-			throw new IllegalArgumentException("Malformed info node: " + info);
-		}
-		
-		Node node = info.getFirstChild();
-		this.version = CoqUtils.parseString(node);
-		
-		node = node.getNextSibling();
-		this.protocol = CoqUtils.parseString(node);
-		
-		node = node.getNextSibling();
-		this.release = CoqUtils.parseString(node);
+		in.start("coq_info");
+		this.version = in.parseString();
+		this.protocol = in.parseString();
+		this.release = in.parseString();
+		this.compile = in.parseString();
+		in.end("coq_info");
 		
-		node = node.getNextSibling();
-		this.compile = CoqUtils.parseString(node);
+		in.end(VALUE);
 	}
 	
 	@Override
@@ -33,8 +33,7 @@
  */
 package edu.jhuapl.exterminator.coq.coq84.message;
 
-import org.w3c.dom.Document;
-
+import edu.jhuapl.exterminator.coq.CoqXMLReader;
 import edu.jhuapl.exterminator.coq.coq84.command.Coq84AddToLoadPathCommand;
 import edu.jhuapl.exterminator.coq.message.CoqAddToLoadPathMessage;
 
@@ -42,8 +41,12 @@ public class Coq84AddToLoadPathMessage extends Coq84InterpMessage implements Coq
 	
 	private final Coq84AddToLoadPathCommand command;
 
-	public Coq84AddToLoadPathMessage(Coq84AddToLoadPathCommand command, Document doc) {
-		super(command, doc);
+	public Coq84AddToLoadPathMessage(Coq84AddToLoadPathCommand command, String xml) {
+		this(command, new CoqXMLReader(xml));
+	}
+	
+	protected Coq84AddToLoadPathMessage(Coq84AddToLoadPathCommand command, CoqXMLReader in) {
+		super(command, in);
 		this.command = command;
 	}
 	
@@ -38,10 +38,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-
-import edu.jhuapl.exterminator.coq.CoqUtils;
+import edu.jhuapl.exterminator.coq.CoqXMLReader;
 import edu.jhuapl.exterminator.coq.coq84.Coq84Message;
 import edu.jhuapl.exterminator.coq.coq84.command.Coq84EVarsCommand;
 import edu.jhuapl.exterminator.coq.message.CoqEVarsMessage;
@@ -52,26 +49,29 @@ public class Coq84EVarsMessage extends Coq84Message implements CoqEVarsMessage {
 	
 	private final List<EVar84> evars;
 
-	public Coq84EVarsMessage(Coq84EVarsCommand command, Document doc) {
-		super(doc);
+	public Coq84EVarsMessage(Coq84EVarsCommand command, String xml) {
+		this(command, new CoqXMLReader(xml));
+	}
+	
+	protected Coq84EVarsMessage(Coq84EVarsCommand command, CoqXMLReader in) {
+		super(in);
 		
 		this.command = Objects.requireNonNull(command);
 		
 		this.evars = new ArrayList<>();
 		
-		if(value.getChildNodes().getLength() != 1) {
-			throw new IllegalArgumentException("Malformed evars: " + value);
-		}
+		if(!statusIsGood()) return;
 		
-		Node node = CoqUtils.parseOptionNode(value.getFirstChild());
-		if(node != null) {
-			List<Node> nodes = CoqUtils.parseList(node);
-			if(nodes != null) {
-				for(Node evar : nodes) {
-					evars.add(new EVar84(evar));
-				}
+		if(in.startOption()) {
+			in.start("list");
+			while(in.hasNextChild()) {
+				evars.add(new EVar84(in));
 			}
+			in.end("list");
+			in.end("option");
 		}
+		
+		in.end(VALUE);
 	}
 	
 	@Override
@@ -88,12 +88,9 @@ public class Coq84EVarsMessage extends Coq84Message implements CoqEVarsMessage {
 		
 		private final String str;
 		
-		public EVar84(Node node) {
-			if(!node.getNodeName().equalsIgnoreCase("evar")) {
-				throw new IllegalArgumentException("Node is not evar: " + node);
-			}
-			
-			this.str = node.getTextContent();
+		public EVar84(CoqXMLReader in) {
+			in.start("evar");
+			this.str = in.textContent();
 		}
 		
 		@Override
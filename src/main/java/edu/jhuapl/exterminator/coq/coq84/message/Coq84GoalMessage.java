@@ -37,47 +37,59 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-
-import edu.jhuapl.exterminator.coq.CoqUtils;
+import edu.jhuapl.exterminator.coq.CoqXMLReader;
 import edu.jhuapl.exterminator.coq.coq84.Coq84Message;
 import edu.jhuapl.exterminator.coq.coq84.command.Coq84GoalCommand;
 import edu.jhuapl.exterminator.coq.message.CoqGoalMessage;
-import edu.jhuapl.exterminator.grammar.coq.CoqFTParser;
+import edu.jhuapl.exterminator.grammar.coq.TermCache;
 import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Coq84GoalMessage extends Coq84Message implements CoqGoalMessage {
 	
+	// how many threads parse hypotheses and conclusions; with 1 they are
+	// parsed one at a time on the thread decoding the message
+	public static final int PARSE_THREADS = Integer.getInteger(
+			"exterminator.coq.goal.threads", Runtime.getRuntime().availableProcessors());
+	
+	private static ExecutorService parsers;
+	
 	private final Coq84GoalCommand command;
 		
 	private final Goals84 fg, bg;
 	
-	public Coq84GoalMessage(Coq84GoalCommand command, Document doc) {
-		super(doc);
+	public Coq84GoalMessage(Coq84GoalCommand command, String xml) {
+		this(command, new CoqXMLReader(xml));
+	}
+	
+	protected Coq84GoalMessage(Coq84GoalCommand command, CoqXMLReader in) {
+		super(in);
 		
 		this.command = Objects.requireNonNull(command);
 		
-		if(value.getChildNodes().getLength() != 1) {
-			throw new IllegalArgumentException("Value has too many children.");
-		}
-		
-		Node goals = CoqUtils.parseOptionNode(value.getFirstChild());
-		
-		if(goals == null) {
+		if(!statusIsGood() || !in.startOption()) {
 			this.fg = null;
 			this.bg = null;
 		} else {
-			if(!goals.getNodeName().equalsIgnoreCase("goals")) {
-				throw new IllegalArgumentException("Info node is not of type goals.");
-			}
-			if(goals.getChildNodes().getLength() != 2) {
-				throw new IllegalArgumentException("Malformed goals node: " + goals);
-			}
+			in.start("goals");
+			this.fg = new Goals84(in, true);
+			this.bg = new Goals84(in, false);
+			in.end("goals");
+			in.end("option");
 			
-			this.fg = new Goals84(goals.getFirstChild(), true);
-			this.bg = new Goals84(goals.getLastChild(), false);
+			// terms are parsed while the rest of the message is read
+			fg.finish();
+			bg.finish();
+		}
+		
+		if(statusIsGood()) {
+			in.end(VALUE);
 		}
 	}
 	
@@ -96,10 +108,18 @@ public class Coq84GoalMessage extends Coq84Message implements CoqGoalMessage {
 		
 		private final List<Goal84> goals;
 		
-		public Goals84(Node goals, boolean isForeground) {
+		public Goals84(CoqXMLReader in, boolean isForeground) {
 			this.goals = new ArrayList<>();
-			for(Node goal : CoqUtils.parseList(goals)) {
-				this.goals.add(new Goal84(goal, isForeground));
+			in.start("list");
+			while(in.hasNextChild()) {
+				this.goals.add(new Goal84(in, isForeground));
+			}
+			in.end("list");
+		}
+		
+		private void finish() {
+			for(Goal84 goal : goals) {
+				goal.finish();
 			}
 		}
 		
@@ -119,39 +139,49 @@ public class Coq84GoalMessage extends Coq84Message implements CoqGoalMessage {
 		private final List<Term> hypothesis_terms;
 		private final List<String> hypotheses;
 		
-		private final Term conclusion;
+		private Term conclusion;
 		
-		private Goal84(Node goal, boolean isForeground) {
-			if(!goal.getNodeName().equalsIgnoreCase("goal")) {
-				throw new IllegalArgumentException("Goal node is not correct type: " + goal);
-			}
-			if(goal.getChildNodes().getLength() != 3) {
-				throw new IllegalArgumentException("Malformed goal node: " + goal);
-			}
-
-			Node node = goal.getFirstChild();
-			this.id = CoqUtils.parseString(node);
-			this.isForeground = isForeground;
+		// parses started by the constructor, collected by finish
+		private List<FutureTask<Term>> parsing;
+		
+		private Goal84(CoqXMLReader in, boolean isForeground) {
+			in.start("goal");
 			
-			node = node.getNextSibling();
-			this.hypotheses = CoqUtils.parseStringList(node);
+			this.id = in.parseString();
+			this.isForeground = isForeground;
 			
+			this.hypotheses = in.parseStringList();
 			this.hypothesis_terms = new ArrayList<Term>(this.hypotheses.size());
-			for(String h : hypotheses){
-				try{
-					this.hypothesis_terms.add(CoqFTParser.parseTerm(h, true));
-				}catch(Exception e){
-					/* Hrm.... */
-					System.err.println("Failed to parse hypothesis \""+h+"\" as a term (abandoning it).");
-					e.printStackTrace();
-				}
-			}
 			
-			node = node.getNextSibling();
+			String str = in.parseString();
+			in.end("goal");
 			
-			String str = CoqUtils.parseString(node);
-			this.conclusion = CoqFTParser.parseTerm(str,
-					str.length() < 1000);
+			this.parsing = new ArrayList<>(hypotheses.size() + 1);
+			for(String h : hypotheses) {
+				parsing.add(parse(h, true));
+			}
+			parsing.add(parse(str, str.length() < 1000));
+		}
+		
+		private void finish() {
+			try {
+				for(int i = 0; i < hypotheses.size(); i++) {
+					try{
+						this.hypothesis_terms.add(get(parsing.get(i)));
+					}catch(RuntimeException e){
+						/* Hrm.... */
+						System.err.println("Failed to parse hypothesis \""+hypotheses.get(i)+"\" as a term (abandoning it).");
+						e.printStackTrace();
+					}
+				}
+				
+				this.conclusion = get(parsing.get(hypotheses.size()));
+			} finally {
+				for(FutureTask<Term> task : parsing) {
+					task.cancel(false);
+				}
+				this.parsing = null;
+			}
 		}
 		
 		@Override
@@ -175,4 +205,54 @@ public class Coq84GoalMessage extends Coq84Message implements CoqGoalMessage {
 		
 	}
 
+	///////////////////////////////////////////////////////////////////////////
+	
+	private static FutureTask<Term> parse(final String text, final boolean trySLL) {
+		FutureTask<Term> task = new FutureTask<>(new Callable<Term>() {
+			@Override
+			public Term call() {
+				return TermCache.shared().parse(text, trySLL);
+			}
+		});
+		ExecutorService executor = parsers();
+		if(executor == null) {
+			task.run();
+		} else {
+			executor.execute(task);
+		}
+		return task;
+	}
+	
+	// rethrows whatever the parse threw
+	private static Term get(FutureTask<Term> task) {
+		try {
+			return task.get();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch(ExecutionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof RuntimeException) throw (RuntimeException)cause;
+			if(cause instanceof Error) throw (Error)cause;
+			throw new RuntimeException(cause);
+		}
+	}
+	
+	private static synchronized ExecutorService parsers() {
+		if(PARSE_THREADS <= 1) return null;
+		if(parsers == null) {
+			parsers = Executors.newFixedThreadPool(PARSE_THREADS, new ThreadFactory() {
+				private int count = 0;
+				
+				@Override
+				public synchronized Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "goal-parser-" + (count++));
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		}
+		return parsers;
+	}
+
 }
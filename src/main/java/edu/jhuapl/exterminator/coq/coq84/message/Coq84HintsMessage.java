@@ -38,10 +38,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-
-import edu.jhuapl.exterminator.coq.CoqUtils;
+import edu.jhuapl.exterminator.coq.CoqXMLReader;
 import edu.jhuapl.exterminator.coq.coq84.Coq84Message;
 import edu.jhuapl.exterminator.coq.coq84.command.Coq84HintsCommand;
 import edu.jhuapl.exterminator.coq.message.CoqHintsMessage;
@@ -54,40 +51,46 @@ public class Coq84HintsMessage extends Coq84Message implements CoqHintsMessage {
 		
 	private final List<Hint84> goals;
 
-	public Coq84HintsMessage(Coq84HintsCommand command, Document doc) {
-		super(doc);
+	public Coq84HintsMessage(Coq84HintsCommand command, String xml) {
+		this(command, new CoqXMLReader(xml));
+	}
+	
+	protected Coq84HintsMessage(Coq84HintsCommand command, CoqXMLReader in) {
+		super(in);
 		
 		this.command = Objects.requireNonNull(command);
-
-		if(value.getChildNodes().getLength() != 1) {
-			throw new IllegalArgumentException("Malformed hint: " + value);
-		}
 		
-		Node node = CoqUtils.parseOptionNode(value.getFirstChild());
+		hypotheses = new ArrayList<>();
+		goals = new ArrayList<>();
 		
-		if(node == null) {
-			hypotheses = new ArrayList<>(0);
-			goals = new ArrayList<>(0);
-			
-		} else {
-			List<Node> hypList = CoqUtils.parseList(CoqUtils.parsePairFirst(node));
-			List<Node> goalsList = CoqUtils.parseList(CoqUtils.parsePairSecond(node));
+		if(!statusIsGood()) return;
+		
+		if(in.startOption()) {
+			in.start("pair");
 			
-			hypotheses = new ArrayList<>(hypList.size());
-			for(Node hypNode : hypList) {
-				List<Node> list = CoqUtils.parseList(hypNode);
+			in.start("list");
+			while(in.hasNextChild()) {
 				List<Hint84> hints = new ArrayList<>();
-				for(Node hint : list) {
-					hints.add(new Hint84(hint));
+				in.start("list");
+				while(in.hasNextChild()) {
+					hints.add(new Hint84(in));
 				}
+				in.end("list");
 				hypotheses.add(hints);
 			}
+			in.end("list");
 			
-			goals = new ArrayList<>(goalsList.size());
-			for(Node hint : goalsList) {
-				goals.add(new Hint84(hint));
+			in.start("list");
+			while(in.hasNextChild()) {
+				goals.add(new Hint84(in));
 			}
+			in.end("list");
+			
+			in.end("pair");
+			in.end("option");
 		}
+		
+		in.end(VALUE);
 	}
 	
 	@Override
@@ -116,9 +119,11 @@ public class Coq84HintsMessage extends Coq84Message implements CoqHintsMessage {
 		
 		private final String code;
 		
-		private Hint84(Node node) {
-			this(CoqUtils.parseString(CoqUtils.parsePairFirst(node)),
-					CoqUtils.parseString(CoqUtils.parsePairSecond(node)));
+		private Hint84(CoqXMLReader in) {
+			in.start("pair");
+			this.name = in.parseString();
+			this.code = in.parseString();
+			in.end("pair");
 		}
 		
 		public Hint84(String name, String code) {
@@ -35,8 +35,7 @@ package edu.jhuapl.exterminator.coq.coq84.message;
 
 import java.util.Objects;
 
-import org.w3c.dom.Document;
-
+import edu.jhuapl.exterminator.coq.CoqXMLReader;
 import edu.jhuapl.exterminator.coq.coq84.Coq84Message;
 import edu.jhuapl.exterminator.coq.coq84.command.Coq84InterpCommand;
 import edu.jhuapl.exterminator.coq.message.CoqInterpMessage;
@@ -45,9 +44,21 @@ public class Coq84InterpMessage extends Coq84Message implements CoqInterpMessage
 	
 	private final Coq84InterpCommand command;
 	
-	public Coq84InterpMessage(Coq84InterpCommand command, Document doc) {
-		super(doc);
+	public Coq84InterpMessage(Coq84InterpCommand command, String xml) {
+		this(command, new CoqXMLReader(xml));
+	}
+	
+	protected Coq84InterpMessage(Coq84InterpCommand command, CoqXMLReader in) {
+		super(in);
 		this.command = Objects.requireNonNull(command);
+		
+		// the output string isn't used
+		if(statusIsGood()) {
+			while(in.hasNextChild()) {
+				in.skip();
+			}
+			in.end(VALUE);
+		}
 	}
 
 	@Override
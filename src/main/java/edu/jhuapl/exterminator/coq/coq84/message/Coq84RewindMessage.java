@@ -33,9 +33,7 @@
  */
 package edu.jhuapl.exterminator.coq.coq84.message;
 
-import org.w3c.dom.Document;
-
-import edu.jhuapl.exterminator.coq.CoqUtils;
+import edu.jhuapl.exterminator.coq.CoqXMLReader;
 import edu.jhuapl.exterminator.coq.command.CoqRewindCommand;
 import edu.jhuapl.exterminator.coq.coq84.Coq84Message;
 import edu.jhuapl.exterminator.coq.coq84.command.Coq84RewindCommand;
@@ -47,17 +45,18 @@ public class Coq84RewindMessage extends Coq84Message implements CoqRewindMessage
 	
 	private final int extraBacktracking;
 
-	public Coq84RewindMessage(Coq84RewindCommand command, Document doc) {
-		super(doc);
+	public Coq84RewindMessage(Coq84RewindCommand command, String xml) {
+		this(command, new CoqXMLReader(xml));
+	}
+	
+	protected Coq84RewindMessage(Coq84RewindCommand command, CoqXMLReader in) {
+		super(in);
 		
 		this.command = command;
 		
 		if(statusIsGood()) {
-			if(value.getChildNodes().getLength() != 1) {
-				throw new IllegalArgumentException("Malformed rewind message: " + doc);
-			}
-			
-			this.extraBacktracking = CoqUtils.parseInt(value.getFirstChild());
+			this.extraBacktracking = in.parseInt();
+			in.end(VALUE);
 		} else {
 			this.extraBacktracking = 0;
 		}
@@ -37,10 +37,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-
-import edu.jhuapl.exterminator.coq.CoqUtils;
+import edu.jhuapl.exterminator.coq.CoqXMLReader;
 import edu.jhuapl.exterminator.coq.coq84.Coq84Message;
 import edu.jhuapl.exterminator.coq.coq84.command.Coq84StatusCommand;
 import edu.jhuapl.exterminator.coq.message.CoqStatusMessage;
@@ -59,38 +56,33 @@ public class Coq84StatusMessage extends Coq84Message implements CoqStatusMessage
 	
 	private final int proofNum;
 
-	public Coq84StatusMessage(Coq84StatusCommand command, Document doc) {
-		super(doc);
+	public Coq84StatusMessage(Coq84StatusCommand command, String xml) {
+		this(command, new CoqXMLReader(xml));
+	}
+	
+	protected Coq84StatusMessage(Coq84StatusCommand command, CoqXMLReader in) {
+		super(in);
 		
 		this.command = Objects.requireNonNull(command);
 		
-		if(value.getChildNodes().getLength() != 1) {
-			throw new IllegalArgumentException("Value has too many children.");
-		}
-		
-		Node status = value.getFirstChild();
-		if(!status.getNodeName().equalsIgnoreCase("status")) {
-			throw new IllegalArgumentException("Info node is not of type status.");
+		if(!statusIsGood()) {
+			this.path = Collections.emptyList();
+			this.proofName = null;
+			this.allProofs = Collections.emptyList();
+			this.stateNum = 0;
+			this.proofNum = 0;
+			return;
 		}
 		
-		if(status.getChildNodes().getLength() != 5) {
-			throw new IllegalArgumentException("Malformed status: " + status);
-		}
-		
-		Node node = status.getFirstChild();
-		this.path = CoqUtils.parseStringList(node);
-		
-		node = node.getNextSibling();
-		this.proofName = CoqUtils.parseOptionString(node);
-		
-		node = node.getNextSibling();
-		this.allProofs = CoqUtils.parseStringList(node);
-		
-		node = node.getNextSibling();
-		this.stateNum = CoqUtils.parseInt(node);
+		in.start("status");
+		this.path = in.parseStringList();
+		this.proofName = in.parseOptionString();
+		this.allProofs = in.parseStringList();
+		this.stateNum = in.parseInt();
+		this.proofNum = in.parseInt();
+		in.end("status");
 		
-		node = node.getNextSibling();
-		this.proofNum = CoqUtils.parseInt(node);
+		in.end(VALUE);
 	}
 	
 	@Override
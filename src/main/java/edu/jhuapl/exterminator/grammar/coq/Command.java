@@ -33,11 +33,14 @@
  */
 package edu.jhuapl.exterminator.grammar.coq;
 
+import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.ParserRuleContext;
 
 import edu.jhuapl.exterminator.grammar.coq.sentence.Sentence;
 
 public abstract class Command extends CoqToken {
+
+	private static final long serialVersionUID = 1L;
 	
 	//public abstract String getOriginalText();
 
@@ -45,6 +48,10 @@ public abstract class Command extends CoqToken {
 		super(parser, context);
 	}
 	
+	protected Command(CharStream source, int start, int stop) {
+		super(source, start, stop);
+	}
+	
 	protected Command(Command copy) {
 		super(copy);
 	}
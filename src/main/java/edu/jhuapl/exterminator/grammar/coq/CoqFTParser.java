@@ -34,23 +34,38 @@
 package edu.jhuapl.exterminator.grammar.coq;
 
 import java.io.IOException;
+import java.io.Serializable;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.antlr.v4.runtime.ANTLRErrorStrategy;
 import org.antlr.v4.runtime.ANTLRFileStream;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.Lexer;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenSource;
 import org.antlr.v4.runtime.TokenStream;
 import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.Interval;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
 
+import edu.jhuapl.exterminator.grammar.coq.sentence.Assertion;
+import edu.jhuapl.exterminator.grammar.coq.sentence.AssertionAndProof;
+import edu.jhuapl.exterminator.grammar.coq.sentence.Proof;
 import edu.jhuapl.exterminator.grammar.coq.tactic.Tactic;
 import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
@@ -73,91 +88,377 @@ public class CoqFTParser extends CoqParser {
         });
     }
 
+    // one parser per thread for parseTerm and parseTactic, reset for each
+    // string instead of building a new lexer, token stream and parser
+    private static final ThreadLocal<CoqFTParser> SESSION = new ThreadLocal<>();
+
     private final TokenStream input;
 
-    private final Map<ParserRuleContext, String> fullText;
+    // error strategies for the SLL and LL attempts, made when first needed
+    private ANTLRErrorStrategy bailStrategy, defaultStrategy;
+
+    // true while a static parse is using this as its thread's session
+    private boolean busy;
+
+    // set while parsing goal terms, so equal subterms are made once
+    private TermInterner interner;
 
     public CoqFTParser(Path file) throws IOException {
         this(new CommonTokenStream(new CoqLexer(new ANTLRFileStream(file.toString()))));
     }
 
     public CoqFTParser(String s) {
-        this(new CommonTokenStream(new CoqLexer(new ANTLRInputStream(s))));
+        this(new ReusableTokenStream(new CoqLexer(new ANTLRInputStream(s))));
+    }
+
+    /**
+     * A parser for an assertion and proof that was skipped.  Tokens keep
+     * their places in the file it was skipped in, so syntax errors give the
+     * file's lines and columns.
+     */
+    public CoqFTParser(Skipped skipped) {
+        this(new CommonTokenStream(skipped.lexer()));
     }
 
     public CoqFTParser(final CommonTokenStream input) {
         super(input);
         this.input = input;
-        this.fullText = new HashMap<>();
 
-        addParseListener(new CoqBaseListener() {
+        registerErrorListener(this);
+    }
 
-            //private Stack<ParserRuleContext> stack = new Stack<>();
+    public CharStream getSource() {
+        return input.getTokenSource().getInputStream();
+    }
 
-            @Override
-            public void enterEveryRule(ParserRuleContext ctx) {
-                //stack.push(ctx);
-                //System.out.println("~a " + stack.size());
-                //System.out.println(stack);
-                //if(ctx.toString().equals("[523 663 515 358 190 182]")) {
-                //	System.out.println("\n\n\n\n\n\n\n\n\n\n\n\n");
-                //	System.out.println(ctx.getStart().getLine() + " " + ctx.getStart().getCharPositionInLine());
-                //	System.out.println("\n\n\n\n\n\n\n\n\n\n\n\n");
-                //}
+    /**
+     * The text the rule matched.  The inner contexts of a left-recursive
+     * rule, like a.b in a.b.c or table::str in table::str::nil, get their
+     * own text; when text was recorded as each rule exited they got "",
+     * since the parser hadn't set their stop token yet.
+     */
+    public String getFullText(ParserRuleContext ctx) {
+        return getText(getSource(), getStartIndex(ctx), getStopIndex(ctx));
+    }
+
+    // the rule's span in the source, including any hidden tokens inside it;
+    // empty if it matched no tokens
+    public static int getStartIndex(ParserRuleContext ctx) {
+        return ctx.start == null ? 0 : ctx.start.getStartIndex();
+    }
+
+    public static int getStopIndex(ParserRuleContext ctx) {
+        if(ctx.start == null || ctx.stop == null
+                || ctx.stop.getTokenIndex() < ctx.start.getTokenIndex()) {
+            return getStartIndex(ctx) - 1;
+        }
+        return ctx.stop.getStopIndex();
+    }
+
+    public static String getText(CharStream source, int start, int stop) {
+        if(stop < start) return "";
+        return source.getText(Interval.of(start, stop));
+    }
+
+    public Prog parseProg() {
+        return new Prog(this, prog());
+    }
+
+    /**
+     * An assertion and its proof that were skipped over without being
+     * parsed, by name and source span.
+     */
+    public static class Skipped implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        private final CharStream source;
+
+        private final int start, stop;
+
+        // where start is in the file
+        private final int line, column;
+
+        private Skipped(String name, CharStream source, Token first, int stop) {
+            this.name = name;
+            this.source = source;
+            this.start = first.getStartIndex();
+            this.stop = stop;
+            this.line = first.getLine();
+            this.column = first.getCharPositionInLine();
+        }
+
+        private Lexer lexer() {
+            CoqLexer lexer = new CoqLexer(new SpanStream(source, start, stop));
+            lexer.setLine(line);
+            lexer.setCharPositionInLine(column);
+            return lexer;
+        }
+
+        public String getName() { return name; }
+
+        public String getText() { return CoqFTParser.getText(source, start, stop); }
+
+        @Override
+        public String toString() { return name; }
+
+    }
+
+    /**
+     * If the next command is an assertion followed by its proof, moves past
+     * both by looking at tokens only.  Otherwise returns null and leaves the
+     * input where it was, so the command can be parsed as usual.
+     */
+    public Skipped skipAssertionAndProof() {
+        if(!isAssertionKeyword(_input.LA(1))) return null;
+
+        int mark = _input.index();
+        Token first = _input.LT(1);
+        String name = _input.LT(2).getText();
+
+        // the assertion ends at the first period, which must be followed
+        // by "Proof."; the proof ends at the first footer and period
+        boolean inProof = false;
+        while(true) {
+            int type = _input.LA(1);
+            if(type == Token.EOF) break;
+            if(!inProof && type == DOT) {
+                if(_input.LA(2) != U_PROOF || _input.LA(3) != DOT) break;
+                inProof = true;
+            } else if(inProof && _input.LA(2) == DOT && isProofFooter(type)) {
+                _input.consume();
+                Token last = _input.LT(1);
+                _input.consume();
+                return new Skipped(name, getSource(), first, last.getStopIndex());
             }
+            _input.consume();
+        }
 
-            @Override
-            public void exitEveryRule(ParserRuleContext ctx) {
-                //ParserRuleContext last = stack.pop();
-                //System.out.println(last.equals(ctx));
-                //System.out.println("~b " + stack.size());
-                updateFullText(ctx);
-                //System.out.println("~c"); 
-                //System.out.println(stack);
+        _input.seek(mark);
+        return null;
+    }
+
+    /**
+     * Parses the assertion and proof that start the input, which is an
+     * edited version of the previous one.  The assertion and any tactics
+     * whose text is unchanged are taken from the previous one as they are,
+     * so only what changed is parsed.
+     */
+    public AssertionAndProof reparseAssertionAndProof(AssertionAndProof previous) {
+        Token first = _input.LT(1);
+        int mark = _input.index();
+
+        Assertion assertion = previous.getAssertion();
+        Token end = skipPast(DOT);
+        if(end == null || !getText(first, end).equals(assertion.fullText())) {
+            _input.seek(mark);
+            assertion = new Assertion(this, assertion());
+        }
+
+        if(_input.LA(1) != U_PROOF || _input.LA(2) != DOT) {
+            return parseAssertionAndProof(mark);
+        }
+        Token header = _input.LT(1);
+        _input.consume();
+        _input.consume();
+
+        // the same tactic can appear more than once, but each is used once
+        Map<String, Deque<Tactic>> unchanged = new HashMap<>();
+        for(Tactic tactic : previous.getProof().getTactics()) {
+            Deque<Tactic> same = unchanged.get(tactic.fullText());
+            if(same == null) {
+                same = new ArrayDeque<>();
+                unchanged.put(tactic.fullText(), same);
             }
-        });
+            same.add(tactic);
+        }
 
-        registerErrorListener(this);
+        List<Tactic> tactics = new ArrayList<>();
+        while(_input.LA(2) != DOT || !isProofFooter(_input.LA(1))) {
+            int start = _input.index();
+            Token from = _input.LT(1);
+            end = skipPast(DOT);
+            if(end == null) return parseAssertionAndProof(mark);
+
+            Deque<Tactic> same = unchanged.get(getText(from, end));
+            if(same != null && !same.isEmpty()) {
+                tactics.add(same.poll());
+            } else {
+                _input.seek(start);
+                tactics.add(new Tactic(this, tactic_invocation()));
+            }
+        }
+
+        Token footer = _input.LT(1);
+        _input.consume();
+        end = _input.LT(1);
+        _input.consume();
+
+        Proof proof = new Proof(this, header.getStartIndex(), end.getStopIndex(),
+                header.getText() + ".", tactics, footer.getText() + ".");
+        return new AssertionAndProof(this, first.getStartIndex(), end.getStopIndex(), assertion, proof);
     }
 
-    private void updateFullText(ParserRuleContext ctx) {
-        fullText.put(ctx, input.getText(ctx.start, ctx.stop));
+    // the input isn't laid out as expected, so parse all of it to report why
+    private AssertionAndProof parseAssertionAndProof(int mark) {
+        _input.seek(mark);
+        Command command = Command.make(this, command());
+        if(!(command instanceof AssertionAndProof)) {
+            throw new IllegalArgumentException("Unexpected command: " + command);
+        }
+        return (AssertionAndProof)command;
     }
 
-    public String getFullText(ParserRuleContext ctx) {
-        return fullText.get(ctx);
+    // consumes tokens through the next one of the given type, or returns
+    // null at the end of the input
+    private Token skipPast(int type) {
+        while(_input.LA(1) != Token.EOF) {
+            Token token = _input.LT(1);
+            _input.consume();
+            if(token.getType() == type) return token;
+        }
+        return null;
     }
 
-    public Prog parseProg() {
-        return new Prog(this, prog());
+    private String getText(Token first, Token last) {
+        return getText(getSource(), first.getStartIndex(), last.getStopIndex());
+    }
+
+    private static boolean isProofFooter(int type) {
+        return type == U_QED || type == U_DEFINED || type == U_ADMITTED;
+    }
+
+    private static boolean isAssertionKeyword(int type) {
+        switch(type) {
+        case U_THEOREM:
+        case U_LEMMA:
+        case U_REMARK:
+        case U_FACT:
+        case U_COROLLARY:
+        case U_PROPOSITION:
+        case U_DEFINITION:
+        case U_EXAMPLE:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    public static interface CommandListener {
+
+        /**
+         * @param last the last token of the command
+         */
+        public void parsed(Command command, Token last);
+
+    }
+
+    /**
+     * Parses the same input as parseProg, but one command at a time.  Each
+     * command's parse tree can be collected as soon as the command is
+     * built, rather than the whole file's tree staying alive until the end.
+     */
+    public Prog streamProg(CommandListener listener) {
+        int start = _input.LT(1).getStartIndex();
+        List<Command> commands = new ArrayList<>();
+        do {
+            Command command = Command.make(this, command());
+            commands.add(command);
+            if(listener != null) {
+                listener.parsed(command, _input.LT(-1));
+            }
+        } while(_input.LA(1) != Token.EOF);
+        return new Prog(this, commands, start, _input.LT(-1).getStopIndex());
     }
 
     public static Term parseTerm(String s, boolean trySLL) {
-        CoqFTParser p = new CoqFTParser(s);
-        if(trySLL) {
-            p.getInterpreter().setPredictionMode(PredictionMode.SLL);
-            p.setErrorHandler(new BailErrorStrategy());
-            try {
-                return p.parseTerm();
-            } catch(ParseCancellationException | CoqSyntaxException e) {
-                p = new CoqFTParser(s);
+        CoqFTParser p = acquire(s);
+        p.interner = TermInterner.shared();
+        Term term = null;
+        try {
+            if(trySLL) {
+                p.setSLL(true);
+                try {
+                    term = p.parseTerm();
+                } catch(ParseCancellationException | CoqSyntaxException e) {
+                    p.reset(s);
+                }
+            }
+            if(term == null) {
+                p.setSLL(false);
+                term = p.parseTerm();
             }
+        } finally {
+            p.interner = null;
+            p.busy = false;
         }
-        return p.parseTerm();
+        // terms are cached and outlive the goal text they were parsed from
+        term.detach();
+        return term;
     }
     
     public static Tactic parseTactic(String s, boolean trySLL) {
-        CoqFTParser p = new CoqFTParser(s);
-        if(trySLL) {
-            p.getInterpreter().setPredictionMode(PredictionMode.SLL);
-            p.setErrorHandler(new BailErrorStrategy());
-            try {
-                return p.parseTactic();
-            } catch(ParseCancellationException | CoqSyntaxException e) {
-                p = new CoqFTParser(s);
+        CoqFTParser p = acquire(s);
+        try {
+            if(trySLL) {
+                p.setSLL(true);
+                try {
+                    return p.parseTactic();
+                } catch(ParseCancellationException | CoqSyntaxException e) {
+                    p.reset(s);
+                }
             }
+            p.setSLL(false);
+            return p.parseTactic();
+        } finally {
+            p.busy = false;
+        }
+    }
+
+    // the thread's session pointed at s, or a new parser if the session is
+    // already in use further up the stack
+    private static CoqFTParser acquire(String s) {
+        CoqFTParser p = SESSION.get();
+        if(p == null) {
+            p = new CoqFTParser(s);
+            SESSION.set(p);
+        } else if(p.busy) {
+            p = new CoqFTParser(s);
+        } else {
+            p.reset(s);
+        }
+        p.busy = true;
+        return p;
+    }
+
+    // points a parser made from a string at a new string, reusing its lexer
+    // and token stream
+    private void reset(String s) {
+        CommonTokenStream tokens = (CommonTokenStream)input;
+        Lexer lexer = (Lexer)tokens.getTokenSource();
+        lexer.setInputStream(new ANTLRInputStream(s));
+        tokens.setTokenSource(lexer);
+        // also resets the parser and its error strategy
+        setTokenStream(tokens);
+    }
+
+    private void setSLL(boolean sll) {
+        if(defaultStrategy == null) {
+            defaultStrategy = new DefaultErrorStrategy();
+            bailStrategy = new BailErrorStrategy();
         }
-        return p.parseTactic();
+        getInterpreter().setPredictionMode(sll ? PredictionMode.SLL : PredictionMode.LL);
+        setErrorHandler(sll ? bailStrategy : defaultStrategy);
+    }
+
+    /**
+     * @return the canonical token equal to this one if this parser is
+     * hash-consing, or else the token itself
+     */
+    public <T extends CoqToken> T intern(T token) {
+        return interner == null ? token : interner.intern(token);
     }
 
     public Term parseTerm() {
@@ -170,4 +471,85 @@ public class CoqFTParser extends CoqParser {
         Tactic_invocationContext tactic = tactic_invocation();
         return new Tactic(this, tactic);
     }
+
+    // one span of a source, with the source's indexes; only the span's text
+    // is copied, and other threads can read the source while this is lexed
+    private static class SpanStream implements CharStream {
+
+        private final CharStream source;
+
+        private final int start;
+
+        private final String text;
+
+        // the next character, from start
+        private int p;
+
+        private SpanStream(CharStream source, int start, int stop) {
+            this.source = source;
+            this.start = start;
+            this.text = CoqFTParser.getText(source, start, stop);
+        }
+
+        @Override
+        public int LA(int i) {
+            if(i == 0) return 0;
+            int at = i > 0 ? p + i - 1 : p + i;
+            if(at < 0) return 0;
+            return at < text.length() ? text.charAt(at) : IntStream.EOF;
+        }
+
+        @Override
+        public void consume() {
+            if(p >= text.length()) throw new IllegalStateException("cannot consume EOF");
+            p++;
+        }
+
+        @Override
+        public int mark() { return -1; }
+
+        @Override
+        public void release(int marker) { }
+
+        @Override
+        public int index() { return start + p; }
+
+        @Override
+        public void seek(int index) {
+            p = Math.max(0, Math.min(index - start, text.length()));
+        }
+
+        @Override
+        public int size() { return start + text.length(); }
+
+        @Override
+        public String getSourceName() { return source.getSourceName(); }
+
+        @Override
+        public String getText(Interval interval) {
+            int a = Math.max(interval.a, start) - start;
+            int b = Math.min(interval.b - start, text.length() - 1);
+            return b < a ? "" : text.substring(a, b + 1);
+        }
+
+        // errors show the line from the whole file
+        @Override
+        public String toString() { return source.toString(); }
+
+    }
+
+    // the runtime's setTokenSource doesn't forget that the old source hit
+    // EOF, so without this a reused stream would come up empty
+    private static class ReusableTokenStream extends CommonTokenStream {
+
+        private ReusableTokenStream(Lexer lexer) {
+            super(lexer);
+        }
+
+        @Override
+        public void setTokenSource(TokenSource tokenSource) {
+            super.setTokenSource(tokenSource);
+            fetchedEOF = false;
+        }
+    }
 }
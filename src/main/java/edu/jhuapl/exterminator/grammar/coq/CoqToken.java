@@ -33,22 +33,39 @@
  */
 package edu.jhuapl.exterminator.grammar.coq;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.tree.TerminalNode;
 
-public abstract class CoqToken implements Cloneable {
+public abstract class CoqToken implements Cloneable, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	protected final FullText fullText;
 	
+	// the structural hash, worked out when first asked for; 0 until then
+	private transient int hash;
+	
+	// the symbols of every identifier in this subtree, sorted; null until
+	// first asked for
+	private transient int[] identifiers;
+	
+	private transient CoqToken[] children;
+	
+	private static final CoqToken[] NO_CHILDREN = new CoqToken[0];
+	
 	public CoqToken(CoqFTParser parser, ParserRuleContext context) {
-		this.fullText = new FullText(parser.getFullText(context));
+		this.fullText = new FullText(parser.getSource(),
+				CoqFTParser.getStartIndex(context), CoqFTParser.getStopIndex(context));
 	}
 	
 	public CoqToken(TerminalNode node) {
@@ -59,6 +76,10 @@ public abstract class CoqToken implements Cloneable {
 		this.fullText = new FullText(node.getText());
 	}
 	
+	protected CoqToken(CharStream source, int start, int stop) {
+		this.fullText = new FullText(source, start, stop);
+	}
+	
 	protected CoqToken(String fullText) {
 		// please only use this if you know what you're doing
 		this.fullText = new FullText(fullText);
@@ -66,42 +87,100 @@ public abstract class CoqToken implements Cloneable {
 	
 	protected CoqToken(CoqToken copy) {
 		this.fullText = copy.fullText;
+		// a conversion to another class has its own structure
+		if(copy.getClass() == getClass()) {
+			this.hash = copy.hash;
+			this.identifiers = copy.identifiers;
+		}
 	}
 	
-	public String fullText() { return fullText.text; }
+	public String fullText() { return fullText.text(); }
 
 	public abstract List<CoqToken> getChildren();
 	
-	public boolean contains(CoqToken token) {
-		Objects.requireNonNull(token);
-		
-		for(CoqToken child : getChildren()) {
-			if(child != null && (child.equals(token) || child.contains(token)))
-				return true;
+	/**
+	 * The same as getChildren().size(), without making the list again.
+	 */
+	public int childCount() {
+		return children().length;
+	}
+	
+	/**
+	 * The same as getChildren().get(i), without making the list again.
+	 */
+	public CoqToken child(int i) {
+		return children()[i];
+	}
+	
+	// getChildren, made once since tokens don't change
+	private CoqToken[] children() {
+		CoqToken[] array = children;
+		if(array == null) {
+			array = getChildren().toArray(NO_CHILDREN);
+			children = array;
 		}
+		return array;
+	}
+	
+	/**
+	 * The simple name of this token if it names something.  Tokens equal to
+	 * this one have the same name, so they can only be inside tokens that
+	 * have it among their identifiers.
+	 */
+	public String getIdentifierName() { return null; }
+	
+	public boolean hasIdentifier(String name) {
+		if(!mayHaveIdentifier(name)) return false;
 		
-		return false;
+		// another name can have the same symbol
+		NameWalker walker = new NameWalker(name);
+		walker.walk(this);
+		return walker.found;
+	}
+	
+	// false if nothing in this token has the name
+	private boolean mayHaveIdentifier(String name) {
+		return Identifiers.contains(getIdentifiers(), Identifiers.symbol(name));
+	}
+	
+	// the identifiers of this token and everything in it
+	private int[] getIdentifiers() {
+		if(identifiers == null) new IdentifierWalker().walk(this);
+		return identifiers;
+	}
+	
+	// false if the token can't be anywhere in this one
+	protected boolean mayContain(CoqToken token) {
+		String name = token.getIdentifierName();
+		return name == null || mayHaveIdentifier(name);
+	}
+	
+	public boolean contains(CoqToken token) {
+		Objects.requireNonNull(token);
+		ContainsWalker walker = new ContainsWalker(this, token);
+		walker.walk(this);
+		return walker.found;
 	}
 	
 	public List<CoqToken> getParentsOf(CoqToken token) {
 		Objects.requireNonNull(token);
-		
-		List<CoqToken> list = new ArrayList<>();
-		
-		boolean addThis = false;
-		for(CoqToken child : getChildren()) {
-			if(child == null) continue;
-			
-			if(child.equals(token)) {
-				addThis = true;
-			} else {
-				list.addAll(child.getParentsOf(token));
+		ParentsWalker walker = new ParentsWalker(this, token);
+		walker.walk(this);
+		return walker.parents;
+	}
+	
+	/**
+	 * Copies the text of every token in this tree out of the source it was
+	 * parsed from, for trees that outlive their source (goal terms).
+	 */
+	public void detach() {
+		new TermWalker() {
+			@Override
+			protected boolean enter(CoqToken token) {
+				token.fullText.detach();
+				return true;
 			}
-		}
-		
-		if(addThis && !list.contains(this)) list.add(this);
-		
-		return list;
+		}.walk(this);
 	}
 	
 	public boolean shouldParenthesize() {
@@ -110,9 +189,34 @@ public abstract class CoqToken implements Cloneable {
 	
 	public abstract boolean isTerminalNode();
 	
+	/**
+	 * Tokens don't change once built, so subclasses return the token itself
+	 * and copies share everything.
+	 */
 	@Override
 	public abstract CoqToken clone();
 	
+	/**
+	 * Tokens are used as keys all over, so the hash of the whole subtree is
+	 * only computed once.  A token must not change after it's built.
+	 */
+	@Override
+	public final int hashCode() {
+		int h = hash;
+		if(h == 0) {
+			h = computeHashCode();
+			hash = h;
+		}
+		return h;
+	}
+	
+	/**
+	 * The hash of this token's structure, consistent with equals.
+	 */
+	protected int computeHashCode() {
+		return super.hashCode();
+	}
+	
 	///////////////////////////////////////////////////////////////////////////
 	
 	@SuppressWarnings("unchecked")
@@ -135,17 +239,161 @@ public abstract class CoqToken implements Cloneable {
 		return list;
 	}
 	
-	protected class FullText {
+	// works out the identifiers of everything below that doesn't have them
+	// yet, children first
+	private static class IdentifierWalker extends TermWalker {
+		
+		@Override
+		protected boolean enter(CoqToken token) {
+			return token.identifiers == null;
+		}
+		
+		@Override
+		protected void leave(CoqToken token) {
+			String name = token.getIdentifierName();
+			int[] symbols = name == null ? Identifiers.NONE : new int[] { Identifiers.symbol(name) };
+			for(int i = 0; i < token.childCount(); i++) {
+				CoqToken child = token.child(i);
+				if(child != null) symbols = Identifiers.union(symbols, child.identifiers);
+			}
+			token.identifiers = symbols;
+		}
+		
+	}
+	
+	private static class NameWalker extends TermWalker {
+		
+		private final String name;
+		
+		private boolean found;
+		
+		private NameWalker(String name) {
+			this.name = name;
+		}
+		
+		@Override
+		protected boolean enter(CoqToken t) {
+			if(name.equals(t.getIdentifierName())) {
+				found = true;
+				stop();
+				return false;
+			}
+			return t.mayHaveIdentifier(name);
+		}
+		
+	}
+	
+	private static class ContainsWalker extends TermWalker {
+		
+		private final CoqToken root, token;
+		
+		private boolean found;
+		
+		private ContainsWalker(CoqToken root, CoqToken token) {
+			this.root = root;
+			this.token = token;
+		}
+		
+		@Override
+		protected boolean enter(CoqToken t) {
+			if(t != root && t.equals(token)) {
+				found = true;
+				stop();
+				return false;
+			}
+			return t.mayContain(token);
+		}
+		
+	}
+	
+	// a token is a parent if one of its children equals the token, unless
+	// an equal parent was already found below it; nothing inside a child
+	// that equals the token is looked at
+	private static class ParentsWalker extends TermWalker {
+		
+		private final CoqToken root, token;
+		
+		private final List<CoqToken> parents = new ArrayList<>();
+		
+		// for each token being walked, where its parents start in the list
+		// and whether it has a child equal to the token
+		private int[] starts = new int[16];
 		
-		private String text;
+		private boolean[] matched = new boolean[16];
+		
+		private ParentsWalker(CoqToken root, CoqToken token) {
+			this.root = root;
+			this.token = token;
+		}
+		
+		@Override
+		protected boolean enter(CoqToken t) {
+			int depth = depth();
+			if(t != root && t.equals(token)) {
+				matched[depth - 1] = true;
+				return false;
+			}
+			if(!t.mayContain(token)) return false;
+			
+			if(depth == starts.length) {
+				starts = Arrays.copyOf(starts, depth * 2);
+				matched = Arrays.copyOf(matched, depth * 2);
+			}
+			starts[depth] = parents.size();
+			matched[depth] = false;
+			return true;
+		}
+		
+		@Override
+		protected void leave(CoqToken t) {
+			int depth = depth();
+			if(matched[depth] && !parents.subList(starts[depth], parents.size()).contains(t)) {
+				parents.add(t);
+			}
+		}
+		
+	}
+	
+	protected class FullText implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+		
+		// the text is only copied out of the source when first asked for;
+		// shared tokens can be detached by one thread while another reads
+		private volatile CharStream source;
+		
+		private final int start, stop;
+		
+		private volatile String text;
 		
 		public FullText(String text) {
 			this.text = Objects.requireNonNull(text);
+			this.source = null;
+			this.start = this.stop = 0;
 		}
 		
-		public void append(String text) {
-			Objects.requireNonNull(text);
-			this.text += text;
+		public FullText(CharStream source, int start, int stop) {
+			this.source = Objects.requireNonNull(source);
+			this.start = start;
+			this.stop = stop;
+		}
+		
+		public String text() {
+			String text = this.text;
+			if(text == null) {
+				CharStream source = this.source;
+				// text is always set before source is dropped
+				if(source == null) return this.text;
+				text = CoqFTParser.getText(source, start, stop);
+				this.text = text;
+			}
+			return text;
+		}
+		
+		// copies the text out so the source can be collected
+		void detach() {
+			text();
+			source = null;
 		}
 		
 		@Override
@@ -153,9 +401,9 @@ public abstract class CoqToken implements Cloneable {
 			if(anObj == this) return true;
 			if(anObj == null) return false;
 			if(anObj instanceof FullText) {
-				return text.equals(((FullText)anObj).text);
+				return text().equals(((FullText)anObj).text());
 			} else if(anObj instanceof String) {
-				return text.equals((String)anObj);
+				return text().equals((String)anObj);
 			} else {
 				return false;
 			}
@@ -163,12 +411,12 @@ public abstract class CoqToken implements Cloneable {
 		
 		@Override
 		public int hashCode() {
-			return text.hashCode();
+			return text().hashCode();
 		}
 		
 		@Override
 		public String toString() {
-			return text;
+			return text();
 		}
 		
 	}
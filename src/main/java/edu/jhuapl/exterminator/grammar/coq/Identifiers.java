@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.grammar.coq;
+
+import java.util.Arrays;
+
+/**
+ * Turns identifier names into ints, so the names in a subtree can be kept
+ * as a small sorted array and checked with a binary search.  A name's
+ * symbol is its hash, so there's no table to grow as names are seen, but
+ * different names can share a symbol: a symbol that's missing means the
+ * name is, and one that's there only means the name may be.
+ */
+public class Identifiers {
+	
+	public static final int[] NONE = new int[0];
+	
+	private Identifiers() { }
+	
+	public static int symbol(String name) {
+		return name.hashCode();
+	}
+	
+	public static boolean contains(int[] symbols, int symbol) {
+		return Arrays.binarySearch(symbols, symbol) >= 0;
+	}
+	
+	/**
+	 * @return the sorted symbols in either array, which may be one of the
+	 * arrays given
+	 */
+	public static int[] union(int[] a, int[] b) {
+		if(b.length == 0) return a;
+		if(a.length == 0) return b;
+		
+		int[] c = new int[a.length + b.length];
+		int i = 0, j = 0, k = 0;
+		while(i < a.length && j < b.length) {
+			if(a[i] < b[j]) {
+				c[k++] = a[i++];
+			} else if(a[i] > b[j]) {
+				c[k++] = b[j++];
+			} else {
+				c[k++] = a[i++];
+				j++;
+			}
+		}
+		while(i < a.length) c[k++] = a[i++];
+		while(j < b.length) c[k++] = b[j++];
+		
+		if(k == a.length) return a;
+		if(k == b.length) return b;
+		return k == c.length ? c : Arrays.copyOf(c, k);
+	}
+	
+}
@@ -40,6 +40,8 @@ import java.util.Objects;
 
 public class Prog extends CoqToken implements Iterable<Command> {
 
+	private static final long serialVersionUID = 1L;
+
 	private final List<Command> commands;
 	
 	public Prog(CoqFTParser parser, CoqParser.ProgContext ctx) {
@@ -50,6 +52,13 @@ public class Prog extends CoqToken implements Iterable<Command> {
 		}
 	}
 	
+	// for a program built a command at a time, spanning start to stop in
+	// the parser's source
+	protected Prog(CoqFTParser parser, List<Command> commands, int start, int stop) {
+		super(parser.getSource(), start, stop);
+		this.commands = new ArrayList<>(commands);
+	}
+	
 	protected Prog(Prog copy) {
 		super(copy);
 		this.commands = new ArrayList<>(copy.commands.size());
@@ -83,7 +92,7 @@ public class Prog extends CoqToken implements Iterable<Command> {
 	}
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(commands);
 	}
 	
@@ -99,7 +108,7 @@ public class Prog extends CoqToken implements Iterable<Command> {
 	
 	@Override
 	public Prog clone() {
-		return new Prog(this);
+		return this;
 	}
 	
 }
@@ -39,6 +39,8 @@ import java.util.Objects;
 import edu.jhuapl.exterminator.grammar.coq.term.Qualid;
 
 public class Require extends Command {
+
+	private static final long serialVersionUID = 1L;
 	
 	public static boolean applies(CoqParser.CommandContext ctx) {
 		return ctx.require() != null;
@@ -77,7 +79,7 @@ public class Require extends Command {
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(isImport, isExport, moduleName);
 	}
 	
@@ -103,7 +105,7 @@ public class Require extends Command {
 	
 	@Override
 	public Require clone() {
-		return new Require(this);
+		return this;
 	}
 	
 }
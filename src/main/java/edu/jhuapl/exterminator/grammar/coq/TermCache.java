@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.grammar.coq;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import edu.jhuapl.exterminator.grammar.coq.term.Term;
+
+/**
+ * Remembers parsed terms by their exact text so that hypotheses which
+ * don't change between goal refreshes are only parsed once.  The cache
+ * is bounded by the total length of the cached text and evicts the least
+ * recently used terms first.  Terms don't change once built, so every
+ * lookup of the same text gets the same term.
+ */
+public class TermCache {
+	
+	public static final long DEFAULT_MAX_CHARS = Long.getLong("exterminator.termcache.chars", 4L << 20);
+	
+	private final long maxChars;
+	
+	// guarded by this
+	private final LinkedHashMap<String, Term> terms;
+	
+	private long chars;
+	
+	private long hits, misses, evictions;
+	
+	public TermCache(long maxChars) {
+		this.maxChars = maxChars;
+		this.terms = new LinkedHashMap<>(256, 0.75f, true);
+		this.chars = 0;
+	}
+	
+	public Term parse(String text, boolean trySLL) {
+		Objects.requireNonNull(text);
+		
+		Term term;
+		synchronized(this) {
+			term = terms.get(text);
+			if(term != null) {
+				hits++;
+			} else {
+				misses++;
+			}
+		}
+		if(term != null) return term;
+		
+		// parse without holding the lock; two threads may parse the same
+		// text at once, which is harmless
+		term = CoqFTParser.parseTerm(text, trySLL);
+		put(text, term);
+		return term;
+	}
+	
+	private synchronized void put(String text, Term term) {
+		if(text.length() > maxChars) return;
+		
+		if(terms.put(text, term) == null) {
+			chars += text.length();
+		}
+		
+		Iterator<Map.Entry<String, Term>> it = terms.entrySet().iterator();
+		while(chars > maxChars && it.hasNext()) {
+			Map.Entry<String, Term> eldest = it.next();
+			chars -= eldest.getKey().length();
+			it.remove();
+			evictions++;
+		}
+	}
+	
+	public synchronized void clear() {
+		terms.clear();
+		chars = 0;
+	}
+	
+	public synchronized int size() { return terms.size(); }
+	
+	public synchronized long getChars() { return chars; }
+	
+	public synchronized long getHits() { return hits; }
+	
+	public synchronized long getMisses() { return misses; }
+	
+	public synchronized long getEvictions() { return evictions; }
+	
+	@Override
+	public synchronized String toString() {
+		return "{TermCache size=" + terms.size() + " chars=" + chars + " hits=" + hits +
+				" misses=" + misses + " evictions=" + evictions + "}";
+	}
+	
+	///////////////////////////////////////////////////////////////////////////
+	
+	private static final TermCache shared = new TermCache(DEFAULT_MAX_CHARS);
+	
+	// the cache used for terms coming back from coqtop
+	public static TermCache shared() {
+		return shared;
+	}
+	
+}
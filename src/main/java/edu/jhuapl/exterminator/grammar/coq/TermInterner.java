@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.grammar.coq;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Hands out one canonical instance for tokens of the same class that are
+ * equal and have the same text.  Goal terms are hash-consed through the
+ * shared interner as they are built, bottom up, so a subterm that repeats
+ * across hypotheses, goals and steps is stored once, and comparing two
+ * terms stops at the first children that are the same object.  Canonical
+ * instances are only weakly held and are dropped once nothing else uses
+ * them.  Interned tokens are shared, so they must not be changed.
+ */
+public class TermInterner {
+	
+	private static final TermInterner SHARED = new TermInterner();
+	
+	public static TermInterner shared() { return SHARED; }
+	
+	// guarded by this
+	private final Map<Key, Key> tokens;
+	
+	private final ReferenceQueue<CoqToken> collected;
+	
+	private long hits, misses;
+	
+	public TermInterner() {
+		this.tokens = new HashMap<>();
+		this.collected = new ReferenceQueue<>();
+	}
+	
+	/**
+	 * @return the canonical instance equal to the token, which is the token
+	 * itself if there wasn't one yet
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends CoqToken> T intern(T token) {
+		Objects.requireNonNull(token);
+		expunge();
+		
+		Key key = new Key(token, collected);
+		Key canonical = tokens.get(key);
+		if(canonical != null) {
+			CoqToken found = canonical.get();
+			if(found != null) {
+				hits++;
+				return (T)found;
+			}
+		}
+		
+		misses++;
+		tokens.put(key, key);
+		return token;
+	}
+	
+	public synchronized int size() {
+		expunge();
+		return tokens.size();
+	}
+	
+	public synchronized long getHits() { return hits; }
+	
+	public synchronized long getMisses() { return misses; }
+	
+	private void expunge() {
+		Reference<? extends CoqToken> ref;
+		while((ref = collected.poll()) != null) {
+			// a cleared key only equals itself, so this removes its own entry
+			tokens.remove(ref);
+		}
+	}
+	
+	private static class Key extends WeakReference<CoqToken> {
+		
+		// kept so the entry can still be found after the token is gone
+		private final int hash;
+		
+		private Key(CoqToken token, ReferenceQueue<CoqToken> queue) {
+			super(token, queue);
+			this.hash = 31 * token.hashCode() + token.fullText().hashCode();
+		}
+		
+		@Override
+		public boolean equals(Object anObj) {
+			if(anObj == this) return true;
+			if(!(anObj instanceof Key)) return false;
+			
+			Key k = (Key)anObj;
+			if(hash != k.hash) return false;
+			CoqToken a = get(), b = k.get();
+			if(a == null || b == null) return false;
+			return a == b || (a.getClass() == b.getClass() &&
+					a.fullText().equals(b.fullText()) && a.equals(b));
+		}
+		
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+		
+	}
+	
+}
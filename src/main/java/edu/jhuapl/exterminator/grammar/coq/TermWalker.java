@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.grammar.coq;
+
+import java.util.Arrays;
+
+/**
+ * Walks a token tree depth first on a stack of its own rather than the
+ * call stack, so long chains of conjunctions and implications can't
+ * overflow it.  The stack is kept between walks, so a walker that is
+ * reused doesn't allocate.
+ */
+public abstract class TermWalker {
+	
+	private CoqToken[] tokens = new CoqToken[16];
+	
+	// the next child to visit of each token on the stack
+	private int[] next = new int[16];
+	
+	private int size;
+	
+	private boolean stopped;
+	
+	/**
+	 * Called on the way down.
+	 * @return true to visit the token's children and then leave it
+	 */
+	protected abstract boolean enter(CoqToken token);
+	
+	/**
+	 * Called on the way up, after the children of a token that enter
+	 * returned true for.
+	 */
+	protected void leave(CoqToken token) { }
+	
+	/**
+	 * Ends the walk without visiting or leaving anything else.
+	 */
+	protected final void stop() {
+		stopped = true;
+	}
+	
+	/**
+	 * @return how many tokens are above the one being visited
+	 */
+	protected final int depth() {
+		return size;
+	}
+	
+	public final void walk(CoqToken root) {
+		stopped = false;
+		size = 0;
+		visit(root);
+		
+		while(size > 0 && !stopped) {
+			int top = size - 1;
+			CoqToken token = tokens[top];
+			int i = next[top];
+			if(i < token.childCount()) {
+				next[top] = i + 1;
+				CoqToken child = token.child(i);
+				if(child != null) visit(child);
+			} else {
+				tokens[--size] = null;
+				leave(token);
+			}
+		}
+		
+		// a stopped walk leaves tokens behind
+		Arrays.fill(tokens, 0, size, null);
+		size = 0;
+	}
+	
+	private void visit(CoqToken token) {
+		if(!enter(token) || stopped) return;
+		if(size == tokens.length) {
+			tokens = Arrays.copyOf(tokens, size * 2);
+			next = Arrays.copyOf(next, size * 2);
+		}
+		tokens[size] = token;
+		next[size] = 0;
+		size++;
+	}
+	
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.grammar.coq;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Where everything is in a set of token trees, gathered in one walk: the
+ * position of each token, so its parent is a lookup, and the positions of
+ * each identifier in each tree.  A goal builds one over its hypotheses so
+ * finding a variable's parents doesn't search every hypothesis again.
+ */
+public class TokenIndex {
+	
+	// the first position each token was seen at
+	private final Map<CoqToken, Zipper> positions;
+	
+	// for each tree, the positions of the tokens named by each identifier
+	private final Map<CoqToken, Map<String, List<Zipper>>> occurrences;
+	
+	public TokenIndex(Collection<? extends CoqToken> roots) {
+		this.positions = new IdentityHashMap<>();
+		this.occurrences = new IdentityHashMap<>();
+		
+		Deque<Zipper> stack = new ArrayDeque<>();
+		for(CoqToken root : roots) {
+			if(root == null || occurrences.containsKey(root)) continue;
+			
+			Map<String, List<Zipper>> names = new HashMap<>();
+			occurrences.put(root, names);
+			
+			stack.push(Zipper.of(root));
+			while(!stack.isEmpty()) {
+				Zipper z = stack.pop();
+				CoqToken token = z.getFocus();
+				if(!positions.containsKey(token)) positions.put(token, z);
+				
+				String name = token.getIdentifierName();
+				if(name != null) {
+					List<Zipper> list = names.get(name);
+					if(list == null) {
+						list = new ArrayList<>(2);
+						names.put(name, list);
+					}
+					list.add(z);
+				}
+				
+				// pushed last to first so they come off in order
+				for(int i = token.childCount() - 1; i >= 0; i--) {
+					CoqToken child = token.child(i);
+					if(child != null) stack.push(z.child(child, i));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @return where the token is, or null if it isn't in any of the trees;
+	 * a token in more than one place gives the first place it was found
+	 */
+	public Zipper locate(CoqToken token) {
+		return positions.get(token);
+	}
+	
+	/**
+	 * @return the token's parent, or null for a root or a token that isn't
+	 * in any of the trees
+	 */
+	public CoqToken getParent(CoqToken token) {
+		Zipper z = positions.get(token);
+		return z == null || z.isRoot() ? null : z.up().getFocus();
+	}
+	
+	/**
+	 * @return the positions in the tree of tokens with the given name, in
+	 * the order they appear
+	 */
+	public List<Zipper> getOccurrences(CoqToken root, String name) {
+		Map<String, List<Zipper>> names = occurrences.get(root);
+		List<Zipper> list = names == null ? null : names.get(name);
+		return list == null ? Collections.<Zipper>emptyList() : Collections.unmodifiableList(list);
+	}
+	
+	/**
+	 * The same as root.getParentsOf(token), found from the identifier's
+	 * occurrences instead of by searching the tree.
+	 */
+	public List<CoqToken> getParentsOf(CoqToken root, CoqToken token) {
+		Objects.requireNonNull(token);
+		String name = token.getIdentifierName();
+		if(name == null || !occurrences.containsKey(root)) return root.getParentsOf(token);
+		
+		Set<Zipper> parents = new LinkedHashSet<>();
+		for(Zipper z : getOccurrences(root, name)) {
+			if(z.isRoot() || !z.getFocus().equals(token)) continue;
+			if(!insideMatch(z, token)) parents.add(z.up());
+		}
+		
+		// deepest first, as a search of the tree finds them
+		List<Zipper> sorted = new ArrayList<>(parents);
+		Collections.sort(sorted, POST_ORDER);
+		
+		// a parent is left out only if an equal one was found inside it
+		List<Zipper> found = new ArrayList<>(sorted.size());
+		List<CoqToken> list = new ArrayList<>(sorted.size());
+		for(Zipper z : sorted) {
+			if(!foundInside(found, z)) {
+				found.add(z);
+				list.add(z.getFocus());
+			}
+		}
+		return list;
+	}
+	
+	// a search stops at the first match on the way down, so matches inside
+	// it don't count
+	private static boolean insideMatch(Zipper z, CoqToken token) {
+		for(Zipper a = z.up(); !a.isRoot(); a = a.up()) {
+			if(a.getFocus().equals(token)) return true;
+		}
+		return false;
+	}
+	
+	private static boolean foundInside(List<Zipper> found, Zipper z) {
+		for(Zipper f : found) {
+			if(f.isWithin(z) && f.getFocus().equals(z.getFocus())) return true;
+		}
+		return false;
+	}
+	
+	private static final Comparator<Zipper> POST_ORDER = new Comparator<Zipper>() {
+		@Override
+		public int compare(Zipper a, Zipper b) {
+			if(a.equals(b)) return 0;
+			if(a.isWithin(b)) return -1;
+			if(b.isWithin(a)) return 1;
+			
+			while(a.getDepth() > b.getDepth()) a = a.up();
+			while(b.getDepth() > a.getDepth()) b = b.up();
+			while(!a.up().equals(b.up())) {
+				a = a.up();
+				b = b.up();
+			}
+			return Integer.compare(a.getIndex(), b.getIndex());
+		}
+	};
+	
+}
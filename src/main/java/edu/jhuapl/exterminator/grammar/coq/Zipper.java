@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.grammar.coq;
+
+import java.util.Objects;
+
+/**
+ * A position in a token tree: the token there and the path from the root
+ * down to it.  Tokens don't know their parents, and the same token can
+ * appear in more than one tree, so this is how to move up and sideways.
+ */
+public final class Zipper {
+	
+	private final CoqToken focus;
+	
+	private final Zipper up;
+	
+	// which of up's children this is
+	private final int index;
+	
+	private final int depth;
+	
+	private Zipper(CoqToken focus, Zipper up, int index) {
+		this.focus = focus;
+		this.up = up;
+		this.index = index;
+		this.depth = up == null ? 0 : up.depth + 1;
+	}
+	
+	public static Zipper of(CoqToken root) {
+		return new Zipper(Objects.requireNonNull(root), null, -1);
+	}
+	
+	public CoqToken getFocus() { return focus; }
+	
+	public boolean isRoot() { return up == null; }
+	
+	/**
+	 * @return where this is among its parent's children, or -1 at the root
+	 */
+	public int getIndex() { return index; }
+	
+	public int getDepth() { return depth; }
+	
+	/**
+	 * @return the parent's position, or null at the root
+	 */
+	public Zipper up() { return up; }
+	
+	public Zipper root() {
+		Zipper z = this;
+		while(z.up != null) z = z.up;
+		return z;
+	}
+	
+	// the position of a child already fetched from the focus
+	Zipper child(CoqToken child, int i) {
+		return new Zipper(child, this, i);
+	}
+	
+	public int childCount() {
+		return focus.childCount();
+	}
+	
+	/**
+	 * @return the position of the i'th child, or null if there's no token
+	 * there
+	 */
+	public Zipper down(int i) {
+		CoqToken child = focus.child(i);
+		return child == null ? null : new Zipper(child, this, i);
+	}
+	
+	/**
+	 * @return the position of the previous sibling, or null if there isn't one
+	 */
+	public Zipper left() {
+		return sibling(-1);
+	}
+	
+	/**
+	 * @return the position of the next sibling, or null if there isn't one
+	 */
+	public Zipper right() {
+		return sibling(1);
+	}
+	
+	private Zipper sibling(int step) {
+		if(up == null) return null;
+		for(int i = index + step; i >= 0 && i < up.childCount(); i += step) {
+			CoqToken sibling = up.focus.child(i);
+			if(sibling != null) return new Zipper(sibling, up, i);
+		}
+		return null;
+	}
+	
+	/**
+	 * True if this is the same position as the other one or lies below it.
+	 */
+	public boolean isWithin(Zipper other) {
+		Zipper z = this;
+		while(z != null && z.depth > other.depth) z = z.up;
+		return z != null && z.samePosition(other);
+	}
+	
+	// the same token reached by the same path
+	private boolean samePosition(Zipper other) {
+		Zipper a = this, b = other;
+		while(a != null && b != null) {
+			if(a == b) return true;
+			if(a.focus != b.focus || a.index != b.index) return false;
+			a = a.up;
+			b = b.up;
+		}
+		return a == b;
+	}
+	
+	@Override
+	public boolean equals(Object anObj) {
+		if(anObj == this) return true;
+		if(!(anObj instanceof Zipper)) return false;
+		Zipper z = (Zipper)anObj;
+		return depth == z.depth && samePosition(z);
+	}
+	
+	@Override
+	public int hashCode() {
+		return 31 * System.identityHashCode(focus) + depth;
+	}
+	
+	@Override
+	public String toString() {
+		return "{Zipper depth=" + depth + " focus=" + focus + "}";
+	}
+	
+}
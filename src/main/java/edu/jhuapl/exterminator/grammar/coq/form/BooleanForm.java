@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class BooleanForm extends Form {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.FormContext ctx) {
         return ctx.boolean_term != null;
     }
@@ -86,7 +88,7 @@ public class BooleanForm extends Form {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(term);
     }
 
@@ -97,7 +99,7 @@ public class BooleanForm extends Form {
 
     @Override
     public BooleanForm clone() {
-        return new BooleanForm(this);
+        return this;
     }
 
 }
@@ -42,6 +42,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc.CoqDocable;
 
 public abstract class Form extends CoqToken implements CoqDocable {
 
+    private static final long serialVersionUID = 1L;
+
     protected Form(CoqFTParser parser, CoqParser.FormContext ctx) {
         super(parser, ctx);
     }
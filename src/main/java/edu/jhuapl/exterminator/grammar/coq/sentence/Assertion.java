@@ -34,6 +34,7 @@
 package edu.jhuapl.exterminator.grammar.coq.sentence;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -46,6 +47,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Assertion extends CoqToken {
 
+	private static final long serialVersionUID = 1L;
+
 	public enum Type {
 		THEOREM,
 		
@@ -100,7 +103,7 @@ public class Assertion extends CoqToken {
 	
 	public Ident getIdent() { return ident; }
 	
-	public List<Binder> getBinders() { return binders; }
+	public List<Binder> getBinders() { return Collections.unmodifiableList(binders); }
 	
 	public Term getTerm() { return term; }
 	
@@ -115,7 +118,7 @@ public class Assertion extends CoqToken {
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(type, ident, binders, term);
 	}
 	
@@ -138,7 +141,7 @@ public class Assertion extends CoqToken {
 	
 	@Override
 	public Assertion clone() {
-		return new Assertion(this);
+		return this;
 	}
 	
 }
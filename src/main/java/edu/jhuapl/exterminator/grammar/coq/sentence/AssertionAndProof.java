@@ -41,6 +41,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqParser;
 import edu.jhuapl.exterminator.grammar.coq.CoqToken;
 
 public class AssertionAndProof extends Sentence {
+
+	private static final long serialVersionUID = 1L;
 	
 	public static boolean applies(CoqParser.SentenceContext ctx) {
 		return ctx.assertion() != null && ctx.proof() != null;
@@ -56,6 +58,14 @@ public class AssertionAndProof extends Sentence {
 		this.proof = new Proof(parser, ctx.proof());
 	}
 	
+	// for a sentence put together from separately built parts, spanning
+	// start to stop in the parser's source
+	public AssertionAndProof(CoqFTParser parser, int start, int stop, Assertion assertion, Proof proof) {
+		super(parser.getSource(), start, stop);
+		this.assertion = Objects.requireNonNull(assertion);
+		this.proof = Objects.requireNonNull(proof);
+	}
+	
 	protected AssertionAndProof(AssertionAndProof copy) {
 		super(copy);
 		this.assertion = copy.assertion.clone();
@@ -77,7 +87,7 @@ public class AssertionAndProof extends Sentence {
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(assertion, proof);
 	}
 	
@@ -98,7 +108,7 @@ public class AssertionAndProof extends Sentence {
 	
 	@Override
 	public AssertionAndProof clone() {
-		return new AssertionAndProof(this);
+		return this;
 	}
 
 }
@@ -34,6 +34,7 @@
 package edu.jhuapl.exterminator.grammar.coq.sentence;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -44,6 +45,8 @@ import edu.jhuapl.exterminator.grammar.coq.tactic.Tactic;
 
 public class Proof extends CoqToken {
 
+    private static final long serialVersionUID = 1L;
+
     private final String header, footer;
 
     private final List<Tactic> tactics;
@@ -61,6 +64,15 @@ public class Proof extends CoqToken {
         this.footer = ctx.footer.getText() + ".";
     }
 
+    // for a proof put together from separately built tactics, spanning
+    // start to stop in the parser's source
+    public Proof(CoqFTParser parser, int start, int stop, String header, List<Tactic> tactics, String footer) {
+        super(parser.getSource(), start, stop);
+        this.header = Objects.requireNonNull(header);
+        this.tactics = new ArrayList<>(tactics);
+        this.footer = Objects.requireNonNull(footer);
+    }
+
     protected Proof(Proof copy) {
         super(copy);
         this.header = copy.header;
@@ -73,7 +85,7 @@ public class Proof extends CoqToken {
 
     public String getHeader() { return header; }
 
-    public List<Tactic> getTactics() { return tactics; }
+    public List<Tactic> getTactics() { return Collections.unmodifiableList(tactics); }
 
     public String getFooter() { return footer; }
 
@@ -97,7 +109,7 @@ public class Proof extends CoqToken {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(tactics);
     }
 
@@ -108,6 +120,6 @@ public class Proof extends CoqToken {
 
     @Override
     public Proof clone() {
-        return new Proof(this);
+        return this;
     }
 }
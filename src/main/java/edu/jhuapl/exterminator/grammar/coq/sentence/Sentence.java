@@ -35,6 +35,7 @@ package edu.jhuapl.exterminator.grammar.coq.sentence;
 
 import java.util.Arrays;
 
+import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.ParserRuleContext;
 
 import edu.jhuapl.exterminator.grammar.coq.Command;
@@ -42,11 +43,17 @@ import edu.jhuapl.exterminator.grammar.coq.CoqFTParser;
 import edu.jhuapl.exterminator.grammar.coq.CoqParser;
 
 public abstract class Sentence extends Command {
+
+	private static final long serialVersionUID = 1L;
 	
 	protected Sentence(CoqFTParser parser, ParserRuleContext ctx) {
 		super(parser, ctx);
 	}
 	
+	protected Sentence(CharStream source, int start, int stop) {
+		super(source, start, stop);
+	}
+	
 	protected Sentence(Sentence copy) {
 		super(copy);
 	}
@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Admit extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.ADMIT() != null;
     }
@@ -87,7 +89,7 @@ public class Admit extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash();
     }
 
@@ -98,7 +100,7 @@ public class Admit extends TacticExpr {
 
     @Override
     public Admit clone() {
-        return new Admit(this);
+        return this;
     }
 
 }
@@ -53,6 +53,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Apply extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.APPLY() != null || ctx.EAPPLY() != null || ctx.LAPPLY() != null;
     }
@@ -234,7 +236,7 @@ public class Apply extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isEApply, isLApply, isSimple, terms,
                 withBindingsLists, inIdent, asPattern);
     }
@@ -276,7 +278,7 @@ public class Apply extends TacticExpr {
 
     @Override
     public Apply clone() {
-        return new Apply(this);
+        return this;
     }
 
 }
@@ -50,6 +50,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Assert extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.ASSERT() != null;
     }
@@ -183,7 +185,7 @@ public class Assert extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(ident, form, tactic, term, asPattern);
     }
 
@@ -212,7 +214,7 @@ public class Assert extends TacticExpr {
 
     @Override
     public Assert clone() {
-        return new Assert(this);
+        return this;
     }
 
 }
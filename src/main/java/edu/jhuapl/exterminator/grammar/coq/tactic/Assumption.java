@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Assumption extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.ASSUMPTION() != null || ctx.EASSUMPTION() != null;
     }
@@ -92,7 +94,7 @@ public class Assumption extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isEAssumption);
     }
 
@@ -107,7 +109,7 @@ public class Assumption extends TacticExpr {
 
     @Override
     public Assumption clone() {
-        return new Assumption(this);
+        return this;
     }
 
 }
@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Qualid;
 
 public class Atom extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Tacexpr1Context ctx) {
         return ctx.atom() != null;
     }
@@ -142,7 +144,7 @@ atom : qualid
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(qualid, isParens, num, expr);
     }
 
@@ -161,7 +163,7 @@ atom : qualid
 
     @Override
     public Atom clone() {
-        return new Atom(this);
+        return this;
     }
 
 }
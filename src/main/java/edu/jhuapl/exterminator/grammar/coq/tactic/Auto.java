@@ -49,6 +49,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Num;
 
 public class Auto extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.AUTO() != null || ctx.EAUTO() != null;
     }
@@ -197,7 +199,7 @@ public class Auto extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isEAuto, num, withStar, withIdents, usingLemmas);
     }
 
@@ -219,7 +221,7 @@ public class Auto extends TacticExpr {
 
     @Override
     public Auto clone() {
-        return new Auto(this);
+        return this;
     }
 
 }
@@ -52,6 +52,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class BindingsList extends CoqToken implements CoqDocable {
 
+    private static final long serialVersionUID = 1L;
+
     /*
 bindings_list: (TOK_LPAREN (ident|NUM) TOK_DEFINE term TOK_RPAREN)+
     | term+
@@ -92,7 +94,14 @@ bindings_list: (TOK_LPAREN (ident|NUM) TOK_DEFINE term TOK_RPAREN)+
 
     @Override
     public List<CoqToken> getChildren() {
-        return makeList(definitions, terms);
+        // a definition isn't a token, so list what's in it instead
+        List<CoqToken> children = new ArrayList<>();
+        for(Definition def : definitions) {
+            List<CoqToken> parts = makeList(def.ident, def.num, def.term);
+            children.addAll(parts);
+        }
+        children.addAll(terms);
+        return children;
     }
 
     @Override
@@ -146,7 +155,7 @@ bindings_list: (TOK_LPAREN (ident|NUM) TOK_DEFINE term TOK_RPAREN)+
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(definitions, terms);
     }
 
@@ -161,7 +170,7 @@ bindings_list: (TOK_LPAREN (ident|NUM) TOK_DEFINE term TOK_RPAREN)+
 
     @Override
     public BindingsList clone() {
-        return new BindingsList(this);
+        return this;
     }
 
     ///////////////////////////////////////////////////////////////////////////
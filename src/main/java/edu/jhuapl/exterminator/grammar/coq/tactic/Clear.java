@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Ident;
 
 public class Clear extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.CLEAR() != null || ctx.CLEARBODY() != null;
     }
@@ -160,7 +162,7 @@ public class Clear extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isClearBody, hasDash, isDependent, idents);
     }
 
@@ -183,7 +185,7 @@ public class Clear extends TacticExpr {
 
     @Override
     public Clear clone() {
-        return new Clear(this);
+        return this;
     }
 
 }
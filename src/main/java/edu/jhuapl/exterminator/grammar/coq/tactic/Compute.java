@@ -49,6 +49,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Qualid;
 
 public class Compute extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     /*
 COMPUTE (TOK_DASH? qualid+)? (IN ident+)?
      */
@@ -167,7 +169,7 @@ COMPUTE (TOK_DASH? qualid+)? (IN ident+)?
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(hasDash, qualids, idents);
     }
 
@@ -188,7 +190,7 @@ COMPUTE (TOK_DASH? qualid+)? (IN ident+)?
 
     @Override
     public Compute clone() {
-        return new Compute(this);
+        return this;
     }
 
 }
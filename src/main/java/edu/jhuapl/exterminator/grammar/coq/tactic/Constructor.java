@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Num;
 
 public class Constructor extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.CONSTRUCTOR() != null ||
                 ctx.ECONSTRUCTOR() != null ||
@@ -228,7 +230,7 @@ public class Constructor extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isConstructor, isEConstructor, isSplit, isESplit,
                 isExists, isEExists, isLeft, isELeft, isClassicalLeft,
                 isRight, isERight, isClassicalRight, num, bindingsLists);
@@ -281,7 +283,7 @@ public class Constructor extends TacticExpr {
 
     @Override
     public Constructor clone() {
-        return new Constructor(this);
+        return this;
     }
 
 }
@@ -47,6 +47,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Ident;
 
 public class Contradiction extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.CONTRADICTION() != null;
     }
@@ -106,7 +108,7 @@ public class Contradiction extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(ident);
     }
 
@@ -118,7 +120,7 @@ public class Contradiction extends TacticExpr {
 
     @Override
     public Contradiction clone() {
-        return new Contradiction(this);
+        return this;
     }
 
 }
@@ -49,6 +49,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Destruct extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.DESTRUCT() != null || ctx.EDESTRUCT() != null ||
                 ctx.CASE() != null || ctx.ECASE() != null ||
@@ -324,7 +326,7 @@ IN goal_occurrences
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isEDestruct, isCase, isECase, isCaseEq, isSimple,
                 terms, disjConjPattern, namingPattern, bindings, usingTerm1,
                 usingTerm2, inGoalOccurrences, simpleIdent, simpleTerm,
@@ -395,7 +397,7 @@ IN goal_occurrences
 
     @Override
     public Destruct clone() {
-        return new Destruct(this);
+        return this;
     }
 
 }
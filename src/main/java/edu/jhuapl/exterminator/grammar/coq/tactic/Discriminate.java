@@ -49,6 +49,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Discriminate extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.EDISCRIMINATE() != null || ctx.DISCRIMINATE() != null;
     }
@@ -151,7 +153,7 @@ public class Discriminate extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isEDiscriminate, term, num, withBindingsList);
     }
 
@@ -173,7 +175,7 @@ public class Discriminate extends TacticExpr {
 
     @Override
     public Discriminate clone() {
-        return new Discriminate(this);
+        return this;
     }
 
 }
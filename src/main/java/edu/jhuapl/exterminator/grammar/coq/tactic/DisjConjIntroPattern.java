@@ -47,6 +47,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc.CoqDocable;
 
 public class DisjConjIntroPattern extends CoqToken implements CoqDocable {
+
+    private static final long serialVersionUID = 1L;
     
     /*
 disj_conj_intro_pattern: isDisj=TOK_LBRACKET TOK_PIPE? pattern+ (TOK_PIPE pattern+)* TOK_RBRACKET
@@ -173,7 +175,7 @@ disj_conj_intro_pattern: isDisj=TOK_LBRACKET TOK_PIPE? pattern+ (TOK_PIPE patter
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(disjPatterns, conjPatterns, binaryPatterns,
                 eqnPattern);
     }
@@ -193,7 +195,7 @@ disj_conj_intro_pattern: isDisj=TOK_LBRACKET TOK_PIPE? pattern+ (TOK_PIPE patter
 
     @Override
     public DisjConjIntroPattern clone() {
-        return new DisjConjIntroPattern(this);
+        return this;
     }
 
 }
@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Exact extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.EXACT() != null || ctx.EEXACT() != null;
     }
@@ -69,7 +71,7 @@ public class Exact extends TacticExpr {
     
     @Override
     public Exact clone() {
-        return new Exact(this);
+        return this;
     }
 
     @Override
@@ -98,7 +100,7 @@ public class Exact extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isEExact);
     }
 
@@ -47,6 +47,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 import edu.jhuapl.exterminator.grammar.coq.term.Qualid;
 
 public class Function extends TacticExpr {
+
+    private static final long serialVersionUID = 1L;
     
     /*
     |   qualid tacarg+
@@ -113,7 +115,7 @@ public class Function extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(qualid, args);
     }
 
@@ -124,7 +126,7 @@ public class Function extends TacticExpr {
 
     @Override
     public Function clone() {
-        return new Function(this);
+        return this;
     }
 
 }
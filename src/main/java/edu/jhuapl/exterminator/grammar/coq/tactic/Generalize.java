@@ -51,6 +51,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Generalize extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.GENERALIZE() != null;
     }
@@ -219,7 +221,7 @@ public class Generalize extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isDependent, terms, atNum1, atNum2, idents, asIdent);
     }
 
@@ -245,7 +247,7 @@ public class Generalize extends TacticExpr {
 
     @Override
     public Generalize clone() {
-        return new Generalize(this);
+        return this;
     }
 
 }
@@ -52,6 +52,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Ident;
 
 public class GoalOccurrences extends CoqToken implements CoqDocable {
 
+    private static final long serialVersionUID = 1L;
+
     /*
 goal_occurrences : ident at_occurrences? (TOK_COMMA ident at_occurrences?)* (TOK_SELECT (selectStar=TOK_MULT selectOccurrences=at_occurrences?)?)?
     |   star=TOK_MULT (TOK_SELECT (selectStar=TOK_MULT selectOccurrences=at_occurrences?)?)?
@@ -176,7 +178,7 @@ goal_occurrences : ident at_occurrences? (TOK_COMMA ident at_occurrences?)* (TOK
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isStar, idents, atOccurrences, hasSelect,
                 hasSelectStar, selectAtOccurrences);
     }
@@ -213,6 +215,6 @@ goal_occurrences : ident at_occurrences? (TOK_COMMA ident at_occurrences?)* (TOK
 
     @Override
     public GoalOccurrences clone() {
-        return new GoalOccurrences(this);
+        return this;
     }
 }
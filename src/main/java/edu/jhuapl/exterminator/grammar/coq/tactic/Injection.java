@@ -49,6 +49,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Injection extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.EINJECTION() != null || ctx.INJECTION() != null;
     }
@@ -182,7 +184,7 @@ public class Injection extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isEInjection, term, num, withBindingsList,
                 asIntroPatterns);
     }
@@ -208,7 +210,7 @@ public class Injection extends TacticExpr {
 
     @Override
     public Injection clone() {
-        return new Injection(this);
+        return this;
     }
 
 }
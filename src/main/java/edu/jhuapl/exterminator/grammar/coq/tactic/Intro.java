@@ -49,6 +49,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Num;
 
 public class Intro extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     /*
     |   INTRO ident?
     |   INTROS ident*
@@ -195,7 +197,7 @@ public class Intro extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isIntros, idents, ident1, ident2, num, isUntil,
                 isAfter, isBefore, isTop, isBottom, patterns);
     }
@@ -235,7 +237,7 @@ public class Intro extends TacticExpr {
 
     @Override
     public Intro clone() {
-        return new Intro(this);
+        return this;
     }
     
 }
@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc.CoqDocable;
 
 public class IntroPattern extends CoqToken implements CoqDocable {
+
+    private static final long serialVersionUID = 1L;
     
     /*
 intro_pattern: naming_intro_pattern
@@ -123,7 +125,7 @@ intro_pattern: naming_intro_pattern
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(naming, disjConj, isUnderscore, isLArrow,
                 isRArrow);
     }
@@ -145,7 +147,7 @@ intro_pattern: naming_intro_pattern
 
     @Override
     public IntroPattern clone() {
-        return new IntroPattern(this);
+        return this;
     }
 
 }
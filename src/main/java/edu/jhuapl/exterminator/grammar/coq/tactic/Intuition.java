@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Intuition extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.INTUITION() != null;
     }
@@ -97,7 +99,7 @@ public class Intuition extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(tactic);
     }
 
@@ -112,7 +114,7 @@ public class Intuition extends TacticExpr {
 
     @Override
     public Intuition clone() {
-        return new Intuition(this);
+        return this;
     }
 
 }
@@ -50,6 +50,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Inversion extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.INVERSION() != null || ctx.INVERSION_CLEAR() != null;
     }
@@ -180,7 +182,7 @@ public class Inversion extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isClear, isDependent, isSimple, ident, num,
                 usingIdent, asPattern, withTerm, inIdents);
     }
@@ -211,7 +213,7 @@ public class Inversion extends TacticExpr {
 
     @Override
     public Inversion clone() {
-        return new Inversion(this);
+        return this;
     }
 
 }
@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc.CoqDocable;
 import edu.jhuapl.exterminator.grammar.coq.term.Ident;
 
 public class NamingIntroPattern extends CoqToken implements CoqDocable {
+
+    private static final long serialVersionUID = 1L;
     
     /*
 naming_intro_pattern: TOK_QUESTION ident?
@@ -108,7 +110,7 @@ naming_intro_pattern: TOK_QUESTION ident?
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(hasQuestionMark, ident);
     }
 
@@ -124,7 +126,7 @@ naming_intro_pattern: TOK_QUESTION ident?
 
     @Override
     public NamingIntroPattern clone() {
-        return new NamingIntroPattern(this);
+        return this;
     }
 
 }
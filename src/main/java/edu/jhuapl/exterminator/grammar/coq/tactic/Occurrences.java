@@ -50,6 +50,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Num;
 
 public class Occurrences extends CoqToken implements CoqDocable {
 
+    private static final long serialVersionUID = 1L;
+
     /*
 occurrences : TOK_DASH? NUM+;
      */
@@ -120,7 +122,7 @@ occurrences : TOK_DASH? NUM+;
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(hasDash, nums);
     }
 
@@ -137,7 +139,7 @@ occurrences : TOK_DASH? NUM+;
 
     @Override
     public Occurrences clone() {
-        return new Occurrences(this);
+        return this;
     }
 
 }
@@ -51,6 +51,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Qualid;
 
 public class Pattern extends CoqToken implements CoqDocable {
 
+    private static final long serialVersionUID = 1L;
+
     /*
 pattern : qualid pattern*
     |   pattern AS ident
@@ -223,7 +225,7 @@ pattern : qualid pattern*
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(qualid, qualidPatterns, isUnderscore, num, pattern,
                 ident, isAs, isMod, orPatterns);
     }
@@ -247,7 +249,7 @@ pattern : qualid pattern*
 
     @Override
     public Pattern clone() {
-        return new Pattern(this);
+        return this;
     }
 
 }
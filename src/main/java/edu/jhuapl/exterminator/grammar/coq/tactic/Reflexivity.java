@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Reflexivity extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.REFLEXIVITY() != null;
     }
@@ -85,7 +87,7 @@ public class Reflexivity extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash();
     }
 
@@ -96,7 +98,7 @@ public class Reflexivity extends TacticExpr {
 
     @Override
     public Reflexivity clone() {
-        return new Reflexivity(this);
+        return this;
     }
 
 }
@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Ident;
 
 public class Rename extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.RENAME() != null;
     }
@@ -91,7 +93,7 @@ public class Rename extends TacticExpr {
     
     @Override
     public Rename clone() {
-        return new Rename(this);
+        return this;
     }
     
     /*
@@ -143,7 +145,7 @@ public class Rename extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(idents, intoIdents);
     }
 
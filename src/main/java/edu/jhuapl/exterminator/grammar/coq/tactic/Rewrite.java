@@ -49,6 +49,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Num;
 import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Rewrite extends TacticExpr {
+
+    private static final long serialVersionUID = 1L;
     
     /*
     |   REWRITE (TOK_IMPLIES|TOK_LARROW)? rewrite_term (TOK_COMMA (TOK_IMPLIES|TOK_LARROW)? rewrite_term)*
@@ -210,7 +212,7 @@ public class Rewrite extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isERewrite, isCut, isLeftArrow, isRightArrow,
                 term, term2, terms, binders, inClause, atOccurrences,
                 byTactic);
@@ -251,13 +253,15 @@ public class Rewrite extends TacticExpr {
 
     @Override
     public Rewrite clone() {
-        return new Rewrite(this);
+        return this;
     }
 
     ///////////////////////////////////////////////////////////////////////////
 
     public static class RewriteTerm extends CoqToken {
 
+        private static final long serialVersionUID = 1L;
+
         private final boolean isQuestion, isExclamation;
 
         private final Num num;
@@ -320,7 +324,7 @@ public class Rewrite extends TacticExpr {
         }
 
         @Override
-        public int hashCode() {
+        protected int computeHashCode() {
             return Objects.hash(isQuestion, isExclamation, num, term);
         }
 
@@ -340,7 +344,7 @@ public class Rewrite extends TacticExpr {
 
         @Override
         public RewriteTerm clone() {
-            return new RewriteTerm(this);
+            return this;
         }
     }
 
@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqToken;
 import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Sequence extends TacticExpr {
+
+    private static final long serialVersionUID = 1L;
     
     /*
 expr TOK_SEMICOLON expr
@@ -136,7 +138,7 @@ expr : expr TOK_SEMICOLON expr
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(exprs, isGeneral);
     }
 
@@ -158,7 +160,7 @@ expr : expr TOK_SEMICOLON expr
 
     @Override
     public Sequence clone() {
-        return new Sequence(this);
+        return this;
     }
 
 }
@@ -51,6 +51,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Simpl extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.SIMPL() != null;
     }
@@ -176,7 +178,7 @@ public class Simpl extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(term, ident, atNums, inIdents);
     }
 
@@ -193,7 +195,7 @@ public class Simpl extends TacticExpr {
 
     @Override
     public Simpl clone() {
-        return new Simpl(this);
+        return this;
     }
 
 }
@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Ident;
 
 public class Subst extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.SUBST() != null;
     }
@@ -114,7 +116,7 @@ public class Subst extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(idents);
     }
 
@@ -125,7 +127,7 @@ public class Subst extends TacticExpr {
 
     @Override
     public Subst clone() {
-        return new Subst(this);
+        return this;
     }
 
 }
@@ -49,6 +49,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class TacArg extends CoqToken implements CoqDocable {
 
+    private static final long serialVersionUID = 1L;
+
     /*
 	tacarg : qualid
     |   TOK_LPAREN TOK_RPAREN
@@ -122,7 +124,7 @@ public class TacArg extends CoqToken implements CoqDocable {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(qualid, isParens, ltacAtom, term);
     }
 
@@ -141,7 +143,7 @@ public class TacArg extends CoqToken implements CoqDocable {
 
     @Override
     public TacArg clone() {
-        return new TacArg(this);
+        return this;
     }
 
 }
@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class TacExpr2 extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Tacexpr2Context ctx) {
         return ctx.tacexpr3() != null && ctx.tacexpr1() != null &&
                 ctx.TOK_PIPE_PIPE() != null;
@@ -102,7 +104,7 @@ public class TacExpr2 extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(expr1, expr3);
     }
 
@@ -113,7 +115,7 @@ public class TacExpr2 extends TacticExpr {
 
     @Override
     public TacExpr2 clone() {
-        return new TacExpr2(this);
+        return this;
     }
 
 }
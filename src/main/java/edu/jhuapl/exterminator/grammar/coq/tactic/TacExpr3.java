@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Num;
 
 public class TacExpr3 extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Tacexpr3Context ctx) {
         return ctx.tacexpr3() != null &&
                 (ctx.DO() != null || ctx.PROGRESS() != null ||
@@ -154,7 +156,7 @@ tacexpr3 : DO (NUM | ident) tacexpr3
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(isDo, isProgress, isRepeat, isTry, isTimeout, num, ident, inner);
     }
 
@@ -189,6 +191,6 @@ tacexpr3 : DO (NUM | ident) tacexpr3
 
     @Override
     public TacExpr3 clone() {
-        return new TacExpr3(this);
+        return this;
     }
 }
@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Num;
 
 public class Tactic extends CoqToken implements CoqDocable {
 
+    private static final long serialVersionUID = 1L;
+
     private final Num num;
 
     private final TacticExpr expr;
@@ -102,7 +104,7 @@ public class Tactic extends CoqToken implements CoqDocable {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(num, expr);
     }
 
@@ -117,7 +119,7 @@ public class Tactic extends CoqToken implements CoqDocable {
 
     @Override
     public Tactic clone() {
-        return new Tactic(this);
+        return this;
     }
 
 }
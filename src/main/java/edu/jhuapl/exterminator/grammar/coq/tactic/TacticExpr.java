@@ -44,6 +44,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc.CoqDocable;
 
 public abstract class TacticExpr extends CoqToken implements CoqDocable {
 
+    private static final long serialVersionUID = 1L;
+
     protected TacticExpr(CoqFTParser parser, ParserRuleContext context) {
         super(parser, context);
     }
@@ -52,6 +52,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Qualid;
 
 public class Unfold extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.Atomic_tacticContext ctx) {
         return ctx.UNFOLD() != null;
     }
@@ -156,7 +158,7 @@ public class Unfold extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(qualids, strings, modKeyIdent, atNums, inIdents);
     }
 
@@ -191,7 +193,7 @@ public class Unfold extends TacticExpr {
 
     @Override
     public Unfold clone() {
-        return new Unfold(this);
+        return this;
     }
 
 }
@@ -47,6 +47,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class UnknownTactic extends TacticExpr {
 
+    private static final long serialVersionUID = 1L;
+
     private final CoqParser.Atomic_tacticContext ctx;
 
     public UnknownTactic(CoqFTParser parser, CoqParser.Atomic_tacticContext ctx) {
@@ -87,7 +89,7 @@ public class UnknownTactic extends TacticExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(ctx);
     }
 
@@ -98,7 +100,7 @@ public class UnknownTactic extends TacticExpr {
 
     @Override
     public UnknownTactic clone() {
-        return new UnknownTactic(this);
+        return this;
     }
 
 }
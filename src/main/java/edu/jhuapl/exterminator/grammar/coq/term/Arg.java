@@ -41,6 +41,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqParser;
 import edu.jhuapl.exterminator.grammar.coq.CoqToken;
 
 public class Arg extends CoqToken {
+
+	private static final long serialVersionUID = 1L;
 	
 	private final Ident identDefine;
 
@@ -95,7 +97,7 @@ public class Arg extends CoqToken {
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(identDefine, term);
 	}
 	
@@ -121,7 +123,7 @@ public class Arg extends CoqToken {
 	
 	@Override
 	public Arg clone() {
-		return new Arg(this);
+		return this;
 	}
 	
 }
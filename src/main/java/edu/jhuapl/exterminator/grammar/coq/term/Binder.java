@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc.CoqDocable;
 
 public class Binder extends CoqToken implements CoqDocable {
+
+	private static final long serialVersionUID = 1L;
 	
 	/*
 binder : name
@@ -150,7 +152,7 @@ binder : name
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(names, binderTerm, defineTerm);
 	}
 	
@@ -172,7 +174,7 @@ binder : name
 	
 	@Override
 	public Binder clone() {
-		return new Binder(this);
+		return this;
 	}
 	
 }
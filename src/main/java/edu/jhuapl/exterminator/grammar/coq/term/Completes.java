@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Completes extends Term {
 
+	private static final long serialVersionUID = 1L;
+
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return ctx.term_completes() != null;
 	}
@@ -95,7 +97,7 @@ public class Completes extends Term {
 
 	@Override
 	public Term clone() {
-		return new Completes(this);
+		return this;
 	}
 
 	@Override
@@ -122,7 +124,7 @@ public class Completes extends Term {
 	}
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(st1, st2, statements);
 	}
 	
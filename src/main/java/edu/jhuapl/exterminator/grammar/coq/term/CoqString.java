@@ -43,6 +43,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqToken;
 
 public class CoqString extends CoqToken {
 
+	private static final long serialVersionUID = 1L;
+
 	private final String value;
 	
 	public CoqString(CoqFTParser parser, TerminalNode node) {
@@ -80,7 +82,7 @@ public class CoqString extends CoqToken {
 	}
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(value);
 	}
 	
@@ -91,6 +93,6 @@ public class CoqString extends CoqToken {
 	
 	@Override
 	public CoqString clone() {
-		return new CoqString(this);
+		return this;
 	}
 }
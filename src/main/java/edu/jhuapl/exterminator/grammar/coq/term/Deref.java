@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Deref extends Term {
 
+	private static final long serialVersionUID = 1L;
+
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return ctx.deref() != null;
 	}
@@ -94,7 +96,7 @@ deref : TOK_LBRACKET qualid TOK_RBRACKET;
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(qualid);
 	}
 	
@@ -114,7 +116,7 @@ deref : TOK_LBRACKET qualid TOK_RBRACKET;
 	
 	@Override
 	public Deref clone() {
-		return new Deref(this);
+		return this;
 	}
 	
 }
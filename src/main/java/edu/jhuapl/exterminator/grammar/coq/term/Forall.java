@@ -47,6 +47,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Forall extends Term {
 
+	private static final long serialVersionUID = 1L;
+
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return ctx.term_forall() != null;
 	}
@@ -114,7 +116,7 @@ term_forall : FORALL binders TOK_COMMA term ;
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(binders, term);
 	}
 	
@@ -135,7 +137,7 @@ term_forall : FORALL binders TOK_COMMA term ;
 	
 	@Override
 	public Forall clone() {
-		return new Forall(this);
+		return this;
 	}
 	
 }
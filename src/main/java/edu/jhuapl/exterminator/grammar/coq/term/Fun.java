@@ -47,6 +47,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Fun extends Term {
 
+	private static final long serialVersionUID = 1L;
+
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return ctx.term_fun() != null;
 	}
@@ -111,7 +113,7 @@ term_fun : FUN binders TOK_EQUAL_GT term ;
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(binders, term);
 	}
 	
@@ -132,7 +134,7 @@ term_fun : FUN binders TOK_EQUAL_GT term ;
 	
 	@Override
 	public Fun clone() {
-		return new Fun(this);
+		return this;
 	}
 	
 }
@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Ident extends CoqToken implements ID {
 
+    private static final long serialVersionUID = 1L;
+
     private final boolean isCIdent;
 
     private final String ident;
@@ -83,6 +85,11 @@ public class Ident extends CoqToken implements ID {
         return ident;
     }
 
+    @Override
+    public String getIdentifierName() {
+        return ident;
+    }
+
     @Override
     public List<CoqToken> getChildren() {
         return makeList();
@@ -134,7 +141,7 @@ public class Ident extends CoqToken implements ID {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(ident);
     }
 
@@ -145,7 +152,7 @@ public class Ident extends CoqToken implements ID {
 
     @Override
     public Ident clone() {
-        return new Ident(this);
+        return this;
     }
 
 }
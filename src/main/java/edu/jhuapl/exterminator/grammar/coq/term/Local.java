@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Local extends Term {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.TermContext ctx) {
         return ctx.term_local() != null;
     }
@@ -112,7 +114,7 @@ term_local : LOCAL ident SKIP?;
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(ident, hasSkip);
     }
 
@@ -127,7 +129,7 @@ term_local : LOCAL ident SKIP?;
 
     @Override
     public Local clone() {
-        return new Local(this);
+        return this;
     }
 
 }
@@ -45,6 +45,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqToken;
 import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Name extends CoqToken implements ID {
+
+	private static final long serialVersionUID = 1L;
 	
 	private final Ident ident;
 	
@@ -76,6 +78,11 @@ public class Name extends CoqToken implements ID {
 		return isUnderscore ? "_" : ident.getFullName();
 	}
 	
+	@Override
+	public String getIdentifierName() {
+		return getFullName();
+	}
+	
 	@Override
 	public List<CoqToken> getChildren() {
 		return makeList(ident);
@@ -98,7 +105,7 @@ public class Name extends CoqToken implements ID {
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(ident, isUnderscore);
 	}
 	
@@ -136,7 +143,7 @@ public class Name extends CoqToken implements ID {
 	
 	@Override
 	public Name clone() {
-		return new Name(this);
+		return this;
 	}
 
 }
@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqToken;
 import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class NamedFields extends Term {
+
+	private static final long serialVersionUID = 1L;
 	
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return ctx.named_fields() != null;
@@ -133,7 +135,7 @@ named_fields : TOK_LBRACE_PIPE ( ident TOK_DEFINE term (TOK_SEMICOLON ident TOK_
 	}
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(fields);
 	}
 	
@@ -151,7 +153,7 @@ named_fields : TOK_LBRACE_PIPE ( ident TOK_DEFINE term (TOK_SEMICOLON ident TOK_
 	
 	@Override
 	public NamedFields clone() {
-		return new NamedFields(this);
+		return this;
 	}
 	
 }
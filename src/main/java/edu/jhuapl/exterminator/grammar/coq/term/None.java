@@ -45,6 +45,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class None extends Term {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.TermContext ctx) {
         return ctx.term_none() != null;
     }
@@ -90,7 +92,7 @@ term_none : U_NONE ;
     }
     
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return 42;
     }
     
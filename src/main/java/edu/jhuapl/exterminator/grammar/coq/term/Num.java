@@ -47,6 +47,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqToken;
 import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Num extends Term {
+
+	private static final long serialVersionUID = 1L;
 	
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return ctx.num != null;
@@ -90,7 +92,7 @@ public class Num extends Term {
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(val);
 	}
 	
@@ -110,7 +112,7 @@ public class Num extends Term {
 	
 	@Override
 	public Num clone() {
-		return new Num(this);
+		return this;
 	}
 	
 }
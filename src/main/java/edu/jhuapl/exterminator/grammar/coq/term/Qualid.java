@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Qualid extends Term implements ID {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.TermContext ctx) {
         return ctx.qualid() != null /*&&
 				ctx.TOK_STORE_BOUND() == null*/;
@@ -95,6 +97,12 @@ public class Qualid extends Term implements ID {
         }
     }
 
+    // a qualified name is only equal to names ending in the same identifier
+    @Override
+    public String getIdentifierName() {
+        return ident.getFullName();
+    }
+
     @Override
     public List<CoqToken> getChildren() {
         return makeList(first, ident);
@@ -118,7 +126,7 @@ public class Qualid extends Term implements ID {
     ///////////////////////////////////////////////////////////////////////////
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(first, ident);
     }
 
@@ -157,7 +165,7 @@ public class Qualid extends Term implements ID {
 
     @Override
     public Qualid clone() {
-        return new Qualid(this);
+        return this;
     }
 
 }
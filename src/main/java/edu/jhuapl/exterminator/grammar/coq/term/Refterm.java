@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Refterm extends Term {
 
+	private static final long serialVersionUID = 1L;
+
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return ctx.ref_left != null && ctx.ref_right != null;
 	}
@@ -93,7 +95,7 @@ ref_left=term TOK_COLON_COLON ref_right=term
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(left, right);
 	}
 	
@@ -114,7 +116,7 @@ ref_left=term TOK_COLON_COLON ref_right=term
 	
 	@Override
 	public Refterm clone() {
-		return new Refterm(this);
+		return this;
 	}
 	
 }
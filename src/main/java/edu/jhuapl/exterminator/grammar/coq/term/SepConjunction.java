@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class SepConjunction extends Term {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.TermContext ctx) {
         return ctx.TOK_SEP_CONJ() != null && ctx.TOK_SEP_CONJ().size() > 0;
     }
@@ -116,7 +118,7 @@ term (TOK_SEP_CONJ term)+
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(terms);
     }
 
@@ -129,7 +131,7 @@ term (TOK_SEP_CONJ term)+
 
     @Override
     public SepConjunction clone() {
-        return new SepConjunction(this);
+        return this;
     }
 
 }
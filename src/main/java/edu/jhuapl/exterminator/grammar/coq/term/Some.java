@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Some extends Term {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.TermContext ctx) {
         return ctx.term_some() != null;
     }
@@ -102,7 +104,7 @@ term_some : U_SOME term ;
     }
     
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(term);
     }
     
@@ -113,7 +115,7 @@ term_some : U_SOME term ;
 
     @Override
     public Term clone() {
-        return new Some(this);
+        return this;
     }
 
 
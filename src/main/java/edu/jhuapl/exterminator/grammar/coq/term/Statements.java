@@ -47,6 +47,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqToken;
 import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Statements extends Term {
+
+	private static final long serialVersionUID = 1L;
 	
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return ctx.statements() != null;
@@ -131,7 +133,7 @@ statements : term (TOK_SEMICOLON_SEMICOLON term)+ TOK_SEMICOLON_SEMICOLON? ;
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(terms);
 	}
 	
@@ -151,7 +153,7 @@ statements : term (TOK_SEMICOLON_SEMICOLON term)+ TOK_SEMICOLON_SEMICOLON? ;
 	
 	@Override
 	public Statements clone() {
-		return new Statements(this);
+		return this;
 	}
 	
 }
@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class StoreBound extends Term {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.TermContext ctx) {
         return ctx.term_storebound() != null;
     }
@@ -117,7 +119,7 @@ qualid TOK_STORE_BOUND (NUM | term)
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(left, right);
     }
 
@@ -131,7 +133,7 @@ qualid TOK_STORE_BOUND (NUM | term)
 
     @Override
     public StoreBound clone() {
-        return new StoreBound(this);
+        return this;
     }
 
 }
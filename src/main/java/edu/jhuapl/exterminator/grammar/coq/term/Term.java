@@ -37,6 +37,7 @@ import java.util.Arrays;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.TerminalNode;
 
 import edu.jhuapl.exterminator.grammar.coq.CoqFTParser;
@@ -45,11 +46,16 @@ import edu.jhuapl.exterminator.grammar.coq.CoqToken;
 import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc.CoqDocable;
 import edu.jhuapl.exterminator.grammar.coq.term.expression.BooleanExpression;
 import edu.jhuapl.exterminator.grammar.coq.term.expression.Expression;
+import edu.jhuapl.exterminator.grammar.coq.term.expression.FalseExpression;
 import edu.jhuapl.exterminator.grammar.coq.term.expression.IfElseExpression;
+import edu.jhuapl.exterminator.grammar.coq.term.expression.Implies;
+import edu.jhuapl.exterminator.grammar.coq.term.expression.TrueExpression;
 import edu.jhuapl.exterminator.grammar.coq.term.expression.WhileExpression;
 
 public abstract class Term extends CoqToken implements CoqDocable {
 
+    private static final long serialVersionUID = 1L;
+
     protected Term(CoqFTParser parser, ParserRuleContext context) {
         super(parser, context);
     }
@@ -82,54 +88,140 @@ public abstract class Term extends CoqToken implements CoqDocable {
         return ctx.inner;
     }
 
+    // which kind of term each alternative of the term rule builds; the
+    // alternative is told apart by its first child, or by its second child
+    // when the first is itself a term
+    private static enum Shape {
+        SOME, NONE, NAMED_FIELDS, FORALL, FUN, LOCAL, COMPLETES, STORE_BOUND,
+        TUPLE, DEREF, NUM, PARENS, TYPE_CAST, REFTERM, IMPLIES, EXPRESSION,
+        QUALID
+    }
+
+    // indexed by token type, or by MAX_TOKEN + 1 + rule index
+    private static final int MAX_TOKEN = CoqParser._ATN.maxTokenType;
+
+    private static final Shape[] BY_FIRST = new Shape[MAX_TOKEN + 1 + CoqParser.ruleNames.length];
+
+    private static final Shape[] BY_SECOND = new Shape[BY_FIRST.length];
+
+    static {
+        BY_FIRST[MAX_TOKEN + 1 + CoqParser.RULE_term_some] = Shape.SOME;
+        BY_FIRST[MAX_TOKEN + 1 + CoqParser.RULE_term_none] = Shape.NONE;
+        BY_FIRST[MAX_TOKEN + 1 + CoqParser.RULE_named_fields] = Shape.NAMED_FIELDS;
+        BY_FIRST[MAX_TOKEN + 1 + CoqParser.RULE_term_forall] = Shape.FORALL;
+        BY_FIRST[MAX_TOKEN + 1 + CoqParser.RULE_term_fun] = Shape.FUN;
+        BY_FIRST[MAX_TOKEN + 1 + CoqParser.RULE_term_local] = Shape.LOCAL;
+        BY_FIRST[MAX_TOKEN + 1 + CoqParser.RULE_term_completes] = Shape.COMPLETES;
+        BY_FIRST[MAX_TOKEN + 1 + CoqParser.RULE_term_storebound] = Shape.STORE_BOUND;
+        BY_FIRST[MAX_TOKEN + 1 + CoqParser.RULE_term_tuple] = Shape.TUPLE;
+        BY_FIRST[MAX_TOKEN + 1 + CoqParser.RULE_deref] = Shape.DEREF;
+        BY_FIRST[MAX_TOKEN + 1 + CoqParser.RULE_qualid] = Shape.QUALID;
+        BY_FIRST[CoqParser.NUM] = Shape.NUM;
+        BY_FIRST[CoqParser.TOK_LPAREN] = Shape.PARENS;
+        BY_FIRST[CoqParser.TOK_AT] = Shape.QUALID;
+
+        BY_SECOND[CoqParser.TOK_COLON] = Shape.TYPE_CAST;
+        BY_SECOND[CoqParser.TOK_COLON_COLON] = Shape.REFTERM;
+        BY_SECOND[CoqParser.TOK_PERIOD_LPAREN] = Shape.QUALID;
+        BY_SECOND[MAX_TOKEN + 1 + CoqParser.RULE_optional_args] = Shape.IMPLIES;
+        BY_SECOND[MAX_TOKEN + 1 + CoqParser.RULE_arg] = Shape.EXPRESSION;
+    }
+
+    private static int index(ParseTree child) {
+        if(child instanceof TerminalNode) {
+            int type = ((TerminalNode)child).getSymbol().getType();
+            return type >= 0 && type <= MAX_TOKEN ? type : -1;
+        }
+        return MAX_TOKEN + 1 + ((ParserRuleContext)child).getRuleIndex();
+    }
+
+    private static Shape shapeOf(CoqParser.TermContext ctx) {
+        if(ctx.getChildCount() == 0) return null;
+        ParseTree first = ctx.getChild(0);
+        Shape[] table = BY_FIRST;
+        if(first instanceof CoqParser.TermContext) {
+            if(ctx.getChildCount() < 2) return null;
+            first = ctx.getChild(1);
+            table = BY_SECOND;
+        }
+        int i = index(first);
+        return i < 0 ? null : table[i];
+    }
+
+    /**
+     * @return the term for the context, or an equal one the parser already
+     * made if it hash-conses its terms
+     */
     public static Term make(CoqFTParser parser, CoqParser.TermContext ctx) {
+        return parser.intern(build(parser, ctx));
+    }
+
+    private static Term build(CoqFTParser parser, CoqParser.TermContext ctx) {
         if(hasInner(ctx))
-            return make(parser, getInner(ctx));
-
-        if(Some.applies(ctx))
-            return new Some(parser, ctx);
-        if(None.applies(ctx))
-            return None.singleton(parser, ctx);
-        if(NamedFields.applies(ctx))
-            return new NamedFields(parser, ctx);
-        if(Forall.applies(ctx))
-            return new Forall(parser, ctx);
-        if(Fun.applies(ctx))
-            return new Fun(parser, ctx);
-        if(TypeCast.applies(ctx))
-            return new TypeCast(parser, ctx);
-        if(Local.applies(ctx))
-            return new Local(parser, ctx);
-        if(BooleanExpression.Factory.applies(ctx))
-            return BooleanExpression.Factory.make(parser, ctx).asTerm();
-        if(IfElseExpression.applies(ctx))
-            return new IfElseExpression(parser, ctx);
-        if(WhileExpression.applies(ctx))
-            return new WhileExpression(parser, ctx);
-        if(Expression.applies(ctx)) {
-            Expression e = new Expression(parser, ctx);
-            BooleanExpression be = BooleanExpression.Factory.convert(e);
-            if(be != null) return be.asTerm();
-            else return e;
+            return build(parser, getInner(ctx));
+
+        Shape shape = shapeOf(ctx);
+        if(shape != null) {
+            switch(shape) {
+            case SOME:
+                return new Some(parser, ctx);
+            case NONE:
+                return None.singleton(parser, ctx);
+            case NAMED_FIELDS:
+                return new NamedFields(parser, ctx);
+            case FORALL:
+                return new Forall(parser, ctx);
+            case FUN:
+                return new Fun(parser, ctx);
+            case LOCAL:
+                return new Local(parser, ctx);
+            case COMPLETES:
+                return new Completes(parser, ctx);
+            case STORE_BOUND:
+                return new StoreBound(parser, ctx);
+            case TUPLE:
+                return new Tuple(parser, ctx);
+            case DEREF:
+                return new Deref(parser, ctx);
+            case NUM:
+                return new Num(parser, ctx);
+            case PARENS:
+                if(Statements.applies(ctx))
+                    return new Statements(parser, ctx);
+                if(SepConjunction.applies(ctx))
+                    return new SepConjunction(parser, ctx);
+                break;
+            case TYPE_CAST:
+                return new TypeCast(parser, ctx);
+            case REFTERM:
+                if(Refterm.applies(ctx))
+                    return new Refterm(parser, ctx);
+                break;
+            case IMPLIES:
+                if(Implies.applies(ctx))
+                    return new Implies(parser, ctx);
+                break;
+            case EXPRESSION:
+                if(!Expression.applies(ctx))
+                    break;
+                if(BooleanExpression.Factory.applies(ctx))
+                    return BooleanExpression.Factory.make(parser, ctx).asTerm();
+                if(IfElseExpression.applies(ctx))
+                    return new IfElseExpression(parser, ctx);
+                if(WhileExpression.applies(ctx))
+                    return new WhileExpression(parser, ctx);
+                Expression e = new Expression(parser, ctx);
+                BooleanExpression be = BooleanExpression.Factory.convert(e);
+                if(be != null) return be.asTerm();
+                else return e;
+            case QUALID:
+                if(TrueExpression.applies(ctx))
+                    return new TrueExpression(parser, ctx);
+                if(FalseExpression.applies(ctx))
+                    return new FalseExpression(parser, ctx);
+                return new Qualid(parser, ctx);
+            }
         }
-        if(Refterm.applies(ctx))
-            return new Refterm(parser, ctx);
-        if(Deref.applies(ctx))
-            return new Deref(parser, ctx);
-        if(Num.applies(ctx))
-            return new Num(parser, ctx);
-        if(Tuple.applies(ctx))
-            return new Tuple(parser, ctx);
-        if(Completes.applies(ctx))
-            return new Completes(parser, ctx);
-        if(Statements.applies(ctx))
-            return new Statements(parser, ctx);
-        if(SepConjunction.applies(ctx))
-            return new SepConjunction(parser, ctx);
-        if(StoreBound.applies(ctx))
-            return new StoreBound(parser, ctx);
-        if(Qualid.applies(ctx))
-            return new Qualid(parser, ctx);
 
         throw new IllegalArgumentException("Unknown term type:\n" +
                 ctx.toStringTree(Arrays.asList(CoqParser.ruleNames)) + "\n" +
@@ -47,6 +47,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class Tuple extends Term {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.TermContext ctx) {
         return ctx.term_tuple() != null;
     }
@@ -106,7 +108,7 @@ term_tuple : TOK_LTUPLE term (TOK_COMMA term)* TOK_RTUPLE ;
     ///////////////////////////////////////////////////////////////////////////
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(terms);
     }
 
@@ -126,6 +128,6 @@ term_tuple : TOK_LTUPLE term (TOK_COMMA term)* TOK_RTUPLE ;
 
     @Override
     public Tuple clone() {
-        return new Tuple(this);
+        return this;
     }
 }
@@ -45,6 +45,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqToken;
 import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 
 public class TypeCast extends Term {
+
+	private static final long serialVersionUID = 1L;
 	
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return ctx.typeCast != null;
@@ -104,7 +106,7 @@ term typeCast=TOK_COLON type
 	}
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(term, type);
 	}
 	
@@ -115,7 +117,7 @@ term typeCast=TOK_COLON type
 	
 	@Override
 	public TypeCast clone() {
-		return new TypeCast(this);
+		return this;
 	}
 
 }
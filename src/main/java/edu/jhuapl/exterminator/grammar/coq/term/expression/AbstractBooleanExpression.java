@@ -34,9 +34,12 @@
 package edu.jhuapl.exterminator.grammar.coq.term.expression;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -48,13 +51,14 @@ import edu.jhuapl.exterminator.grammar.coq.term.ID;
 import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public abstract class AbstractBooleanExpression extends Expression implements BooleanExpression {
+
+	private static final long serialVersionUID = 1L;
 	
-	protected static List<Operator> getOps(Operator firstOperator,
+	protected static Set<Operator> getOps(Operator firstOperator,
 			Operator... additionalOperators) {
 		Objects.requireNonNull(firstOperator);
 		
-		List<Operator> ops = new ArrayList<>();
-		ops.add(firstOperator);
+		Set<Operator> ops = EnumSet.of(firstOperator);
 		if(additionalOperators != null) {
 			for(Operator op : additionalOperators) {
 				if(op != null) {
@@ -65,36 +69,25 @@ public abstract class AbstractBooleanExpression extends Expression implements Bo
 		return ops;
 	}
 	
-	protected static Operator containsOps(String str, List<Operator> ops) {
-		for(Operator op : ops) {
-			if(str.contains(op.getDisplay())) return op;
-		}
-		return null;
-	}
-	
-	protected static Operator startsWithOps(String str, List<Operator> ops) {
-		for(Operator op : ops) {
-			if(str.startsWith(op.getDisplay())) return op;
-		}
-		return null;
+	protected static Operator equalsOps(String str, Set<Operator> ops) {
+		Operator op = Operator.fromText(str);
+		return op != null && ops.contains(op) ? op : null;
 	}
 	
-	protected static Operator equalsOps(String str, List<Operator> ops) {
-		for(Operator op : ops) {
-			if(str.equals(op.getDisplay())) return op;
-		}
-		return null;
+	protected static Operator equalsOps(ParseTree tree, Set<Operator> ops) {
+		Operator op = Operator.fromTree(tree);
+		return op != null && ops.contains(op) ? op : null;
 	}
 	
 	protected static List<CoqParser.TermContext> getEndfixOperands(
-			CoqParser.TermContext ctx, List<Operator> ops) {
+			CoqParser.TermContext ctx, Set<Operator> ops) {
 		return getEndfixOperands(ctx.expression_term, ctx.arg(), ops);
 	}
 	
 	protected static List<CoqParser.TermContext> getEndfixOperands(
 			CoqParser.TermContext expressionCtx,
-			List<CoqParser.ArgContext> args, List<Operator> ops) {
-		if(equalsOps(expressionCtx.getText().trim(), ops) == null)
+			List<CoqParser.ArgContext> args, Set<Operator> ops) {
+		if(equalsOps(expressionCtx, ops) == null)
 			return null;
 		if(args.size() < 1 || args.size() > 2) return null;
 		List<CoqParser.TermContext> list = new ArrayList<>();
@@ -113,7 +106,7 @@ public abstract class AbstractBooleanExpression extends Expression implements Bo
 	
 	protected static boolean applies(CoqParser.TermContext ctx,
 			Operator firstOperator, Operator... additionalOperators) {
-		List<Operator> ops = getOps(firstOperator, additionalOperators);
+		Set<Operator> ops = getOps(firstOperator, additionalOperators);
 		
 //		if(Qualid.applies(ctx)) {
 //			if(containsOps(ctx.getText(), ops) != null) return true;
@@ -128,8 +121,7 @@ public abstract class AbstractBooleanExpression extends Expression implements Bo
 		if(Expression.isArgChain(ctx)) {
 			List<CoqParser.TermContext> args = Expression.getArgChain(ctx);
 			for(int i = 1; i < args.size(); i++) {
-				String s = args.get(i).getText().trim();
-				if(equalsOps(s, ops) != null) {
+				if(equalsOps(args.get(i), ops) != null) {
 					return true;
 				}
 			}
@@ -138,8 +130,7 @@ public abstract class AbstractBooleanExpression extends Expression implements Bo
 			for(int i = 0; i < ctx.arg().size(); i++) {
 				CoqParser.ArgContext arg = ctx.arg(i);
 				if(arg.ident() != null) continue;
-				String s = arg.term().getText().trim();
-				if(equalsOps(s, ops) != null) {
+				if(equalsOps(arg.term(), ops) != null) {
 					return true;
 				}
 			}
@@ -158,7 +149,7 @@ public abstract class AbstractBooleanExpression extends Expression implements Bo
 		
 		if(e.getArgs().size() < 2) return false;
 		
-		List<Operator> ops = getOps(firstOperator, additionalOperators);
+		Set<Operator> ops = getOps(firstOperator, additionalOperators);
 		
 		if(e.getTerm() instanceof ID &&
 				equalsOps(((ID)e.getTerm()).getFullName(), ops) != null) {
@@ -278,7 +269,7 @@ public abstract class AbstractBooleanExpression extends Expression implements Bo
 	protected ConstructorData construct(CoqFTParser parser,
 			CoqParser.TermContext ctx, Operator firstOp,
 			Operator... additionalOps) {
-		List<Operator> ops = getOps(firstOp, additionalOps);
+		Set<Operator> ops = getOps(firstOp, additionalOps);
 
 		Operator fieldOp = null;
 		Term fieldLeft, fieldRight;
@@ -296,7 +287,7 @@ if(Qualid.applies(ctx)) {
 		
 		List<CoqParser.TermContext> operands = getEndfixOperands(ctx, ops);
 		if(operands != null) {
-			fieldOp = equalsOps(ctx.expression_term.getText().trim(), ops);
+			fieldOp = equalsOps(ctx.expression_term, ops);
 			fieldLeft = Term.make(parser, operands.get(0));
 			fieldRight = Term.make(parser, operands.get(1));
 			
@@ -306,9 +297,9 @@ if(Qualid.applies(ctx)) {
 					right = new ArrayList<>();
 			boolean isLeft = true;
 			for(CoqParser.TermContext arg : args) {
-				String s = arg.getText().trim();
-				if(isLeft && equalsOps(s, ops) != null) {
-					fieldOp = equalsOps(s, ops);
+				Operator op = isLeft ? equalsOps(arg, ops) : null;
+				if(op != null) {
+					fieldOp = op;
 					isLeft = false;
 				} else if(isLeft) {
 					left.add(arg);
@@ -325,9 +316,9 @@ if(Qualid.applies(ctx)) {
 					right = new ArrayList<>();
 			boolean isLeft = true;
 			for(CoqParser.ArgContext arg : ctx.arg()) {
-				String s = arg.getText().trim();
-				if(isLeft && equalsOps(s, ops) != null) {
-					fieldOp = equalsOps(s, ops);
+				Operator op = isLeft ? equalsOps(arg, ops) : null;
+				if(op != null) {
+					fieldOp = op;
 					isLeft = false;
 				} else if(isLeft) {
 					left.add(arg);
@@ -339,10 +330,11 @@ if(Qualid.applies(ctx)) {
 			if(left.size() == 0) {
 				fieldLeft = Term.make(parser, ctx.expression_term);
 			} else {
-				fieldLeft = new Expression(Term.make(parser, ctx.expression_term));
+				List<Arg> leftArgs = new ArrayList<>();
 				for(CoqParser.ArgContext arg : left) {
-					((Expression)this.left).args.add(new Arg(parser, arg));
+					leftArgs.add(new Arg(parser, arg));
 				}
+				fieldLeft = new Expression(Term.make(parser, ctx.expression_term), leftArgs);
 			}
 
 			fieldRight = makeA(parser, right);
@@ -356,7 +348,7 @@ if(Qualid.applies(ctx)) {
 	
 	protected ConstructorData construct(Operator firstOp,
 			Operator... additionalOps) {
-		List<Operator> ops = getOps(firstOp, additionalOps);
+		Set<Operator> ops = getOps(firstOp, additionalOps);
 
 		Operator fieldOp = null;
 		Term fieldLeft = null, fieldRight = null;
@@ -440,7 +432,7 @@ if(Qualid.applies(ctx)) {
 	}
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(getOperator(), getLeft(), getRight());
 	}
 	
@@ -469,10 +461,11 @@ if(Qualid.applies(ctx)) {
 		if(terms.size() == 1) {
 			return Term.make(parser, terms.get(0));
 		} else {
-			Expression e = new Expression(Term.make(parser, terms.get(0)));
+			List<Arg> args = new ArrayList<>();
 			for(int i = 1; i < terms.size(); i++) {
-				e.args.add(new Arg(Term.make(parser, terms.get(i))));
+				args.add(new Arg(Term.make(parser, terms.get(i))));
 			}
+			Expression e = new Expression(Term.make(parser, terms.get(0)), args);
 			BooleanExpression be = BooleanExpression.Factory.convert(e);
 			if(be != null) return be.asTerm();
 			else return e;
@@ -488,11 +481,11 @@ if(Qualid.applies(ctx)) {
 		if(terms.size() == 1) {
 			return Term.make(parser, first.term());
 		} else {
-			Expression e = new Expression(Term.make(parser, first.term()));
+			List<Arg> args = new ArrayList<>();
 			for(int i = 1; i < terms.size(); i++) {
-				Arg a = new Arg(parser, terms.get(i));
-				e.appendArg(a);
+				args.add(new Arg(parser, terms.get(i)));
 			}
+			Expression e = new Expression(Term.make(parser, first.term()), args);
 			BooleanExpression be = BooleanExpression.Factory.convert(e);
 			if(be != null) return be.asTerm();
 			else return e;
@@ -503,11 +496,11 @@ if(Qualid.applies(ctx)) {
 		if(terms.size() == 1) {
 			return terms.get(0);
 		} else {
-			Expression e = new Expression(terms.get(0));
-			// FIXME: this doesn't update the fullText
+			List<Arg> args = new ArrayList<>();
 			for(int i = 1; i < terms.size(); i++) {
-				e.args.add(new Arg(terms.get(i)));
+				args.add(new Arg(terms.get(i)));
 			}
+			Expression e = new Expression(terms.get(0), args);
 			BooleanExpression be = BooleanExpression.Factory.convert(e);
 			if(be != null) return be.asTerm();
 			else return e;
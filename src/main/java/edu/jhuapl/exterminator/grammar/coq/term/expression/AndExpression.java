@@ -37,6 +37,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqFTParser;
 import edu.jhuapl.exterminator.grammar.coq.CoqParser;
 
 public class AndExpression extends AbstractBooleanExpression {
+
+	private static final long serialVersionUID = 1L;
 	
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return applies(ctx, Operator.AND_AND, Operator.AND, Operator.BOOL_AND, Operator.BOOL_AND_2);
@@ -74,7 +76,7 @@ public class AndExpression extends AbstractBooleanExpression {
 
 	@Override
 	public AndExpression clone() {
-		return new AndExpression(this);
+		return this;
 	}
 	
 }
@@ -33,6 +33,14 @@
  */
 package edu.jhuapl.exterminator.grammar.coq.term.expression;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
 import edu.jhuapl.exterminator.grammar.coq.CoqFTParser;
 import edu.jhuapl.exterminator.grammar.coq.CoqParser;
 import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
@@ -98,11 +106,84 @@ public interface BooleanExpression extends CoqDoc.CoqDocable, Cloneable {
 		
 		public static Operator fromDisplay(String str) {
 			if(str == null) return null;
+			Operator op = BY_DISPLAY.get(str);
+			if(op != null) return op;
+			
+			throw new IllegalArgumentException("No operator matched " + str);
+		}
+		
+		private static final Map<String, Operator> BY_DISPLAY = new HashMap<>();
+		
+		private static final int MAX_DISPLAY;
+		
+		// the operator each token type always spells, if any; tokens like OP
+		// cover several operators and are looked up by their text instead
+		private static final Operator[] BY_TOKEN = new Operator[CoqParser._ATN.maxTokenType + 1];
+		
+		static {
+			int max = 0;
 			for(Operator op : values()) {
-				if(str.equals(op.getDisplay())) return op;
+				BY_DISPLAY.put(op.display, op);
+				max = Math.max(max, op.display.length());
 			}
+			MAX_DISPLAY = max;
 			
-			throw new IllegalArgumentException("No operator matched " + str);
+			for(int type = 0; type < BY_TOKEN.length; type++) {
+				String literal = CoqParser.VOCABULARY.getLiteralName(type);
+				if(literal != null && literal.length() > 2) {
+					BY_TOKEN[type] = BY_DISPLAY.get(literal.substring(1, literal.length() - 1));
+				}
+			}
+		}
+		
+		/**
+		 * @return the operator spelled exactly by the given text, or null
+		 */
+		public static Operator fromText(String str) {
+			return str == null ? null : BY_DISPLAY.get(str);
+		}
+		
+		/**
+		 * @return the operator spelled by the given token, or null
+		 */
+		public static Operator fromToken(Token token) {
+			int type = token.getType();
+			if(type >= 0 && type < BY_TOKEN.length && BY_TOKEN[type] != null) {
+				return BY_TOKEN[type];
+			}
+			return BY_DISPLAY.get(token.getText());
+		}
+		
+		/**
+		 * @return the operator spelled by the text of the given tree, not
+		 * counting hidden tokens, or null
+		 */
+		public static Operator fromTree(ParseTree tree) {
+			if(tree instanceof TerminalNode) {
+				return fromToken(((TerminalNode)tree).getSymbol());
+			}
+			if(tree instanceof ParserRuleContext) {
+				ParserRuleContext ctx = (ParserRuleContext)tree;
+				if(ctx.start != null && ctx.start == ctx.stop) {
+					return fromToken(ctx.start);
+				}
+			}
+			
+			// several tokens, like Val.ltb; give up once it's too long
+			StringBuilder sb = new StringBuilder();
+			if(!appendText(tree, sb)) return null;
+			return BY_DISPLAY.get(sb.toString());
+		}
+		
+		private static boolean appendText(ParseTree tree, StringBuilder sb) {
+			if(tree instanceof TerminalNode) {
+				sb.append(tree.getText());
+				return sb.length() <= MAX_DISPLAY;
+			}
+			for(int i = 0; i < tree.getChildCount(); i++) {
+				if(!appendText(tree.getChild(i), sb)) return false;
+			}
+			return true;
 		}
 	}
 	
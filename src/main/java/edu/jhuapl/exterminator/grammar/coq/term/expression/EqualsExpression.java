@@ -37,6 +37,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqFTParser;
 import edu.jhuapl.exterminator.grammar.coq.CoqParser;
 
 public class EqualsExpression extends AbstractBooleanExpression {
+
+	private static final long serialVersionUID = 1L;
 	
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return applies(ctx, Operator.EQUALS_EQUALS, Operator.EQUALS);
@@ -74,7 +76,7 @@ public class EqualsExpression extends AbstractBooleanExpression {
 	
 	@Override
 	public EqualsExpression clone() {
-		return new EqualsExpression(this);
+		return this;
 	}
 
 }
@@ -51,6 +51,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Expression extends Term {
 
+    private static final long serialVersionUID = 1L;
+
     public static boolean applies(CoqParser.TermContext ctx) {
         return ctx.expression_term != null && ctx.arg() != null && ctx.arg().size() > 0;
     }
@@ -92,7 +94,7 @@ public class Expression extends Term {
     public Expression(CoqFTParser parser, CoqParser.TermContext ctx) {
         super(parser, ctx);
         this.term = Term.make(parser, ctx.expression_term);
-        this.args = parseArgs(parser, ctx, ctx.arg());
+        this.args = Collections.unmodifiableList(parseArgs(parser, ctx, ctx.arg()));
 
         if(this.term instanceof ID) {
             this.name = ((ID)this.term).getFullName();
@@ -102,33 +104,14 @@ public class Expression extends Term {
     }
 
     public Expression(CoqFTParser parser, CoqParser.TermContext termCtx, List<CoqParser.ArgContext> args) {
-        super(parser, termCtx);
-
-        this.term = Term.make(parser, termCtx);
-
-        this.args = new ArrayList<>();
-        for(CoqParser.ArgContext arg : args) {
-            if(isArgChain(arg.term())) {
-                for(CoqParser.TermContext arg2 : getArgChain(arg.term())) {
-                    appendArg(new Arg(parser, arg2));
-                }
-            } else {
-                appendArg(new Arg(parser, arg));
-            }
-        }
-
-        if(this.term instanceof ID) {
-            this.name = ((ID)this.term).getFullName();
-        } else {
-            this.name = null;
-        }
+        this(Term.make(parser, termCtx), makeArgs(parser, args));
     }
 
-    protected Expression(Term term) {
-        super(term.fullText());
+    protected Expression(Term term, List<Arg> args) {
+        super(getFullText(term, args));
 
         this.term = term;
-        this.args = new ArrayList<>();
+        this.args = Collections.unmodifiableList(new ArrayList<>(args));
 
         if(this.term instanceof ID) {
             this.name = ((ID)this.term).getFullName();
@@ -141,10 +124,11 @@ public class Expression extends Term {
         super(copy);
         this.name = copy.name;
         this.term = copy.term.clone();
-        this.args = new ArrayList<>(copy.args.size());
+        List<Arg> args = new ArrayList<>(copy.args.size());
         for(Arg arg : copy.args) {
-            this.args.add(arg.clone());
+            args.add(arg.clone());
         }
+        this.args = Collections.unmodifiableList(args);
     }
 
     protected static String getFullText(CoqFTParser parser, CoqParser.TermContext termCtx, List<CoqParser.ArgContext> argCtxs) {
@@ -158,9 +142,26 @@ public class Expression extends Term {
         return sb.toString();
     }
 
-    public void appendArg(Arg arg) {
-        args.add(arg);
-        fullText.append(" " + arg.fullText());
+    protected static String getFullText(Term term, List<Arg> args) {
+        StringBuilder sb = new StringBuilder(term.fullText());
+        for(Arg arg : args) {
+            sb.append(' ').append(arg.fullText());
+        }
+        return sb.toString();
+    }
+
+    private static List<Arg> makeArgs(CoqFTParser parser, List<CoqParser.ArgContext> ctxs) {
+        List<Arg> args = new ArrayList<>();
+        for(CoqParser.ArgContext arg : ctxs) {
+            if(isArgChain(arg.term())) {
+                for(CoqParser.TermContext arg2 : getArgChain(arg.term())) {
+                    args.add(new Arg(parser, arg2));
+                }
+            } else {
+                args.add(new Arg(parser, arg));
+            }
+        }
+        return args;
     }
 
     private static List<Arg> parseArgs(CoqFTParser parser,
@@ -194,7 +195,7 @@ public class Expression extends Term {
     }
 
     public List<Arg> getArgs() {
-        return Collections.unmodifiableList(args);
+        return args;
     }
 
     public boolean isListOfIDs() {
@@ -228,7 +229,7 @@ public class Expression extends Term {
     ///////////////////////////////////////////////////////////////////////////
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(name, term, args);
     }
 
@@ -256,7 +257,7 @@ public class Expression extends Term {
 
     @Override
     public Expression clone() {
-        return new Expression(this);
+        return this;
     }
 
 }
@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Qualid;
 import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class FalseExpression extends Term implements BooleanExpression {
+
+	private static final long serialVersionUID = 1L;
 	
 	public static final String TEXT = "FALSE";
 
@@ -105,7 +107,7 @@ public class FalseExpression extends Term implements BooleanExpression {
 	}
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(TEXT);
 	}
 	
@@ -116,7 +118,7 @@ public class FalseExpression extends Term implements BooleanExpression {
 	
 	@Override
 	public FalseExpression clone() {
-		return new FalseExpression(this);
+		return this;
 	}
 	
 }
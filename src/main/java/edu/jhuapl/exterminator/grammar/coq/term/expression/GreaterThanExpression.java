@@ -38,6 +38,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqParser;
 
 public class GreaterThanExpression extends AbstractBooleanExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return applies(ctx, Operator.GREATER_THAN_OR_EQUAL_TO, Operator.STRICTLY_GREATER_THAN, Operator.VAL_GTB, Operator.GREATER_THAN_QUESTION);
 	}
@@ -83,7 +85,7 @@ public class GreaterThanExpression extends AbstractBooleanExpression {
 	
 	@Override
 	public GreaterThanExpression clone() {
-		return new GreaterThanExpression(this);
+		return this;
 	}
 	
 }
@@ -45,6 +45,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class IfElseExpression extends Expression {
 
+	private static final long serialVersionUID = 1L;
+
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return Expression.applies(ctx) &&
 				ctx.expression_term.getText().equalsIgnoreCase("ifelse") &&
@@ -128,7 +130,7 @@ public class IfElseExpression extends Expression {
 	}
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(conditional, trueTerm, falseTerm);
 	}
 	
@@ -143,7 +145,7 @@ public class IfElseExpression extends Expression {
 	
 	@Override
 	public IfElseExpression clone() {
-		return new IfElseExpression(this);
+		return this;
 	}
 
 }
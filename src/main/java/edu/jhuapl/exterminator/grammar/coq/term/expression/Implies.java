@@ -46,6 +46,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class Implies extends Term implements BooleanExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return ctx.TOK_IMPLIES() != null && ctx.left_term != null &&
 				ctx.right_term != null;
@@ -113,7 +115,7 @@ left=term TOK_IMPLIES right=term
 	///////////////////////////////////////////////////////////////////////////
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(left, right);
 	}
 	
@@ -134,7 +136,7 @@ left=term TOK_IMPLIES right=term
 	
 	@Override
 	public Implies clone() {
-		return new Implies(this);
+		return this;
 	}
 	
 }
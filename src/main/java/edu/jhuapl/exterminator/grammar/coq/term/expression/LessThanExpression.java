@@ -38,6 +38,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqParser;
 
 public class LessThanExpression extends AbstractBooleanExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return applies(ctx, Operator.LESS_THAN_OR_EQUAL_TO, Operator.STRICTLY_LESS_THAN, Operator.VAL_LTB, Operator.LESS_THAN_QUESTION);
 	}
@@ -87,7 +89,7 @@ public class LessThanExpression extends AbstractBooleanExpression {
 	
 	@Override
 	public LessThanExpression clone() {
-		return new LessThanExpression(this);
+		return this;
 	}
 	
 }
@@ -35,6 +35,7 @@ package edu.jhuapl.exterminator.grammar.coq.term.expression;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -47,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.ID;
 import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class NotExpression extends AbstractBooleanExpression {
+
+	private static final long serialVersionUID = 1L;
 	
 //	public static boolean applies(Term term) {
 //		if(!(term instanceof Expression)) return false;
@@ -59,7 +62,7 @@ public class NotExpression extends AbstractBooleanExpression {
 //	}
 
 	public static boolean applies(CoqParser.TermContext ctx) {
-		List<Operator> ops = getOps(Operator.NOT_BANG, Operator.NOT_TILDE);
+		Set<Operator> ops = getOps(Operator.NOT_BANG, Operator.NOT_TILDE);
 		
 //		if(Qualid.applies(ctx)) {
 //			String str = ctx.getText().trim();
@@ -78,7 +81,7 @@ public class NotExpression extends AbstractBooleanExpression {
 		if(!Expression.applies(ctx)) return false;
 		
 		return ctx.arg() != null && ctx.arg().size() > 0 &&
-				equalsOps(ctx.expression_term.getText(), ops) != null;
+				equalsOps(ctx.expression_term, ops) != null;
 	}
 	
 	public static NotExpression convert(Expression e) {
@@ -143,7 +146,7 @@ public class NotExpression extends AbstractBooleanExpression {
 //			throw new IllegalArgumentException("Needs exactly one arg: " + args);
 //		}
 		
-		List<Operator> ops = getOps(Operator.NOT_BANG, Operator.NOT_TILDE);
+		Set<Operator> ops = getOps(Operator.NOT_BANG, Operator.NOT_TILDE);
 //		
 //		Operator op = null;
 //		Term left = null, right = null;
@@ -198,7 +201,7 @@ public class NotExpression extends AbstractBooleanExpression {
 	
 	@Override
 	public NotExpression clone() {
-		return new NotExpression(this);
+		return this;
 	}
 
 }
@@ -38,6 +38,8 @@ import edu.jhuapl.exterminator.grammar.coq.CoqParser;
 
 public class OrExpression extends AbstractBooleanExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return applies(ctx, Operator.OR_OR, /*Operator.OR,*/ Operator.BOOL_OR, Operator.BOOL_OR_2);
 	}
@@ -70,7 +72,7 @@ public class OrExpression extends AbstractBooleanExpression {
 
 	@Override
 	public OrExpression clone() {
-		return new OrExpression(this);
+		return this;
 	}
 	
 }
@@ -48,6 +48,8 @@ import edu.jhuapl.exterminator.grammar.coq.term.Qualid;
 import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class TrueExpression extends Term implements BooleanExpression {
+
+	private static final long serialVersionUID = 1L;
 	
 	public static final String TEXT = "TRUE";
 
@@ -105,7 +107,7 @@ public class TrueExpression extends Term implements BooleanExpression {
 	}
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash();
 	}
 	
@@ -116,6 +118,6 @@ public class TrueExpression extends Term implements BooleanExpression {
 	
 	@Override
 	public TrueExpression clone() {
-		return new TrueExpression(this);
+		return this;
 	}
 }
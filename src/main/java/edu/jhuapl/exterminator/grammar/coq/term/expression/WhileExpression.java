@@ -44,6 +44,8 @@ import edu.jhuapl.exterminator.grammar.coq.document.CoqDoc;
 import edu.jhuapl.exterminator.grammar.coq.term.Term;
 
 public class WhileExpression extends Expression {
+
+	private static final long serialVersionUID = 1L;
 	
 	public static boolean applies(CoqParser.TermContext ctx) {
 		return Expression.applies(ctx) &&
@@ -115,7 +117,7 @@ public class WhileExpression extends Expression {
 	}
 	
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return Objects.hash(conditional, doTerm);
 	}
 	
@@ -129,7 +131,7 @@ public class WhileExpression extends Expression {
 	
 	@Override
 	public WhileExpression clone() {
-		return new WhileExpression(this);
+		return this;
 	}
 	
 }
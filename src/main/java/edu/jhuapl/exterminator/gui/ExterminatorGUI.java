@@ -43,7 +43,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.swing.JCheckBox;
 import javax.swing.JDesktopPane;
@@ -58,10 +61,11 @@ import javax.swing.text.DefaultHighlighter.DefaultHighlightPainter;
 
 import edu.jhuapl.exterminator.Environment;
 import edu.jhuapl.exterminator.coq.CoqMessage;
+import edu.jhuapl.exterminator.coq.CoqStateLostException;
 import edu.jhuapl.exterminator.coq.CoqTop;
-import edu.jhuapl.exterminator.coq.XMLUtils;
+import edu.jhuapl.exterminator.coq.CoqTopAsync;
+import edu.jhuapl.exterminator.coq.CoqTopPool;
 import edu.jhuapl.exterminator.coq.message.CoqAboutMessage;
-import edu.jhuapl.exterminator.coq.message.CoqAddToLoadPathMessage;
 import edu.jhuapl.exterminator.coq.message.CoqEVarsMessage;
 import edu.jhuapl.exterminator.coq.message.CoqGoalMessage;
 import edu.jhuapl.exterminator.coq.message.CoqHintsMessage;
@@ -74,8 +78,10 @@ import edu.jhuapl.exterminator.grammar.coq.sentence.Proof;
 import edu.jhuapl.exterminator.grammar.coq.tactic.Tactic;
 import edu.jhuapl.exterminator.gui.action.AboutAction;
 import edu.jhuapl.exterminator.gui.action.AdjustFramesAction;
+import edu.jhuapl.exterminator.gui.action.ApplyAllTacticsAction;
 import edu.jhuapl.exterminator.gui.action.ApplyNextTacticAction;
 import edu.jhuapl.exterminator.gui.action.FinishTacticsAction;
+import edu.jhuapl.exterminator.gui.action.JumpToTacticAction;
 import edu.jhuapl.exterminator.gui.action.OpenAction;
 import edu.jhuapl.exterminator.gui.action.QuitAction;
 import edu.jhuapl.exterminator.gui.action.RewindAction;
@@ -111,7 +117,21 @@ public class ExterminatorGUI extends JFrame implements Logger {
     public static final DefaultHighlightPainter EXEC_HIGHLIGHTER =
             new DefaultHighlightPainter(Color.YELLOW);
 
-    private final CoqTop coq;
+    // how long coqtop may work on a command before it is interrupted, in
+    // milliseconds
+    public static final long COQ_TIMEOUT = Long.getLong("exterminator.coq.timeout", 60000L);
+
+    // the same for status, goal and other queries, which shouldn't take long
+    public static final long COQ_QUERY_TIMEOUT = Long.getLong("exterminator.coq.queryTimeout", 10000L);
+
+    // how many prepared coqtop processes to keep waiting for the next load
+    public static final int COQ_POOL_SIZE = Integer.getInteger("exterminator.coq.pool", 1);
+
+    private final CoqTopPool pool;
+
+    private CoqTop coq;
+
+    private CoqTopAsync coqAsync;
 
     private final List<ExterminatorEventListener> listeners;
 
@@ -135,12 +155,18 @@ public class ExterminatorGUI extends JFrame implements Logger {
 
     private ProgramState programState;
 
+    // where coqtop was right after the last preamble, if it can be reused
+    private Checkpoint checkpoint;
+
     public ExterminatorGUI() throws IOException {
         super("Exterminator");
 
         setLayout(new BorderLayout());
 
-        this.coq = CoqTop.instance();
+        // coqtop is leased from the pool when a file is loaded
+        this.pool = new CoqTopPool(COQ_POOL_SIZE);
+        this.coq = null;
+        this.coqAsync = null;
 
         this.listeners = new ArrayList<>();
 
@@ -155,6 +181,8 @@ public class ExterminatorGUI extends JFrame implements Logger {
         OpenAction openAction = new OpenAction(this);
         ApplyNextTacticAction applyNextTacticAction = new ApplyNextTacticAction(this);
         applyNextTacticAction.setEnabled(false);
+        ApplyAllTacticsAction applyAllTacticsAction = new ApplyAllTacticsAction(this);
+        applyAllTacticsAction.setEnabled(false);
         RewindAction rewindAction = new RewindAction(this);
         rewindAction.setEnabled(false);
         FinishTacticsAction finishAction = new FinishTacticsAction(this);
@@ -198,7 +226,9 @@ public class ExterminatorGUI extends JFrame implements Logger {
             menuBar.add(menu);
 
             menu.add(applyNextTacticAction);
+            menu.add(applyAllTacticsAction);
             menu.add(rewindAction);
+            menu.add(new JumpToTacticAction(this));
             menu.add(finishAction);
 
             menu = new JMenu("Help");
@@ -264,6 +294,7 @@ public class ExterminatorGUI extends JFrame implements Logger {
 
     @Override
     public void dispose() {
+        pool.close();
         System.exit(0);
     }
 
@@ -302,6 +333,17 @@ public class ExterminatorGUI extends JFrame implements Logger {
             public void run() {
                 try {
                     runnable.run();
+                } catch(CoqStateLostException e) {
+                    e.printStackTrace();
+                    JOptionPane.showMessageDialog(ExterminatorGUI.this,
+                            "coqtop was stopped and has to be restarted.",
+                            "coqtop Stopped", JOptionPane.ERROR_MESSAGE);
+                    try {
+                        resync();
+                    } catch(CoqStateLostException e2) {
+                        e2.printStackTrace();
+                        log("restarting coqtop failed, reload the file");
+                    }
                 } finally {
                     progress.setVisible(false);
                     setEnabled(true);
@@ -328,11 +370,10 @@ public class ExterminatorGUI extends JFrame implements Logger {
             public void run() {
                 Cursor c = ExterminatorGUI.this.getCursor();
                 ExterminatorGUI.this.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
-                boolean needToRestart = program != null;
-
                 progressSetMessage("Parsing Coq file...");
                 try {
-                    program = new Program(file, statusFrame);
+                    program = new Program(file, statusFrame,
+                            program != null && file.equals(program.getFile()) ? program : null);
                     programState = new ProgramState(program);
                 } catch(IOException | IllegalArgumentException e) {
                     e.printStackTrace();
@@ -343,19 +384,19 @@ public class ExterminatorGUI extends JFrame implements Logger {
                     return;
                 }
 
-                if(needToRestart) {
-                    progressSetMessage("Restarting Coq...");
-                    try {
-                        coq.terminateAndRestart();
-                    } catch(IOException e) {
-                        throw new RuntimeException(e);
+                if(rewindToCheckpoint(program)) {
+                    progressSetMessage("Updating GUI...");
+                    for(ExterminatorEventListener listener : listeners) {
+                        listener.programLoaded(program);
                     }
+                    reloadStatus();
+                    ExterminatorGUI.this.setCursor(c);
+                    return;
                 }
+                checkpoint = null;
 
-                // we need to add that directory to the loadpath
-                CoqAddToLoadPathMessage msg = sentCommandGotMessage(
-                        coq.addToLoadPath(file.getParent()));
-                log(msg.getCommand().getCode());
+                progressSetMessage("Starting Coq...");
+                int appliedRequires = startCoqTop();
 
                 progressSetMessage("Updating GUI...");
 
@@ -365,7 +406,10 @@ public class ExterminatorGUI extends JFrame implements Logger {
                 }
 
                 try {
-                    sendPreamble();
+                    sendPreamble(appliedRequires);
+                } catch(CoqStateLostException e) {
+                    ExterminatorGUI.this.setCursor(c);
+                    throw e;
                 } catch(RuntimeException e) {
                     e.printStackTrace();
                     JOptionPane.showMessageDialog(ExterminatorGUI.this,
@@ -378,13 +422,71 @@ public class ExterminatorGUI extends JFrame implements Logger {
         });
     }
 
-    private void sendPreamble() {
-        // send requires
+    // swaps in a coqtop from the pool that already has the program's
+    // directory in its loadpath and as many of its requires as it could
+    // send, and returns how many that was
+    private int startCoqTop() {
+        List<String> requires = Checkpoint.requiresOf(program);
+        CoqTopPool.Worker worker;
+        try {
+            worker = pool.lease(program.getFile().getParent(), requires);
+        } catch(IOException e) {
+            throw new RuntimeException(e);
+        }
+        setCoqTop(worker.getCoqTop());
+        log("started coqtop with " + worker.getAppliedRequires() + " of " +
+                requires.size() + " requires applied");
+        return worker.getAppliedRequires();
+    }
+
+    // coqtop's state is gone, so start a new one and bring it back to
+    // where the GUI thinks it is
+    private void resync() {
+        if(programState == null) return;
+        checkpoint = null;
+
+        progressSetMessage("Restarting Coq...");
+        if(!sendPreamble(startCoqTop())) {
+            log("restarting coqtop failed in the preamble, reload the file");
+            return;
+        }
+
+        Tactics tactics = programState.getTactics();
+        int applied = tactics.getNextTacticIndex();
+        tactics.decrementNextTacticIndex(applied);
+        int size = tactics.getCurrentTacticsSize();
+        for(ExterminatorEventListener listener : listeners) {
+            listener.tacticSuccessfulyRewound(0, size);
+        }
+        if(applied > 0 && !applyBatch(applied - 1)) {
+            log("reapplying tactics after restarting coqtop failed, reload the file");
+            return;
+        }
+        reloadStatus();
+    }
+
+    private void setCoqTop(CoqTop newCoq) {
+        CoqTop oldCoq = coq;
+        if(coqAsync != null) coqAsync.shutdown();
+        coq = newCoq;
+        coqAsync = new CoqTopAsync(coq, COQ_TIMEOUT);
+        if(oldCoq == null) return;
+        try {
+            oldCoq.close();
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // returns false if part of it failed
+    private boolean sendPreamble(int appliedRequires) {
+        // send requires the worker didn't already have
         progressSetMessage("Sending preamble (requires)...");
-        boolean success;
-        for(Require code : program.getRequires()) {
-            success = interp(code, false).statusIsGood();
-            if(!success) return;
+        CoqInterpMessage message;
+        List<Require> requires = program.getRequires();
+        for(Require code : requires.subList(appliedRequires, requires.size())) {
+            message = interp(code, false);
+            if(!message.statusIsGood()) return false;
         }
 
         // TODO execute other functions
@@ -392,15 +494,42 @@ public class ExterminatorGUI extends JFrame implements Logger {
         // send program
         progressSetMessage("Sending preamble (main function)...");
         Function main = program.getMainFunction();
-        success = interp(main.getAssertion(), false).statusIsGood();
-        if(!success) return;
+        message = interp(main.getAssertion(), false);
+        if(!message.statusIsGood()) return false;
 
         // send proof header
         progressSetMessage("Sending preamble (proof header)...");
-        success = interp(main.getProof().getHeader(), true).statusIsGood();
-        if(!success) return;
+        message = interp(main.getProof().getHeader(), true);
+        if(!message.statusIsGood()) return false;
 
         log("sent preamble (assertion + begin proof)");
+
+        CoqStatusMessage status = status();
+        if(status.statusIsGood()) {
+            checkpoint = new Checkpoint(program, status.getStateNum());
+        }
+        return true;
+    }
+
+    // if only the tactics changed since the last preamble, rewinds coqtop
+    // to just after it instead of starting over
+    private boolean rewindToCheckpoint(Program newProgram) {
+        if(checkpoint == null || !checkpoint.matches(newProgram)) return false;
+
+        progressSetMessage("Rewinding to the start of the proof...");
+        CoqTopAsync queries = coqAsync.withTimeout(COQ_QUERY_TIMEOUT);
+        int steps = await(queries.status()).getStateNum() - checkpoint.state;
+        if(steps < 0) return false;
+        if(steps > 0) {
+            CoqRewindMessage message = await(coqAsync.rewind(steps));
+            if(!message.statusIsGood() || message.getExtraBacktracking() != 0) return false;
+        }
+
+        // make sure we ended up where we meant to
+        if(await(queries.status()).getStateNum() != checkpoint.state) return false;
+
+        log("rewound " + steps + " steps to the end of the preamble");
+        return true;
     }
 
     public void goalSelected(String goalID) {
@@ -417,7 +546,8 @@ public class ExterminatorGUI extends JFrame implements Logger {
 
     public CoqInterpMessage interp(String code, boolean reloadStatus) {
         progressSetSubMessage("Interpreting Coq command...");
-        CoqInterpMessage message = sentCommandGotMessage(coq.interp(code));
+        CoqInterpMessage message = await(coqAsync.interp(code));
+        sentCommandGotMessage(message);
 
         if(reloadStatus) {
             reloadStatus();
@@ -435,7 +565,7 @@ public class ExterminatorGUI extends JFrame implements Logger {
                 Tactic tactic = programState.getTactics().getNextTactic();
                 progressSetMessage("Interpreting tactic...");
                 CoqInterpMessage message = interp(tactic, true);
-                if(message.statusIsGood()) {
+                if(message != null && message.statusIsGood()) {
                     log("applied next tactic (" + tactic.fullText() + ")");
                     programState.getTactics().incrementNextTacticIndex(1);
                     progressSetMessage("Updating GUI...");
@@ -449,13 +579,132 @@ public class ExterminatorGUI extends JFrame implements Logger {
         });
     }
 
+    public void applyAllTactics() {
+        if(programState == null) return;
+
+        applyTacticsThrough(programState.getTactics().getCurrentTacticsSize() - 1);
+    }
+
+    // applies every tactic from the next one up to and including lastIndex
+    public void applyTacticsThrough(final int lastIndex) {
+        if(programState == null) return;
+
+        Tactics tactics = programState.getTactics();
+        if(lastIndex < tactics.getNextTacticIndex() || lastIndex >= tactics.getCurrentTacticsSize()) return;
+
+        runLongOperation("Applying Tactics", new Runnable() {
+            @Override
+            public void run() {
+                interpTactics(lastIndex);
+                reloadStatus();
+            }
+        });
+    }
+
+    // sends the tactics from the next one through lastIndex as one batch
+    // and moves the next tactic index past the ones that succeeded; if the
+    // batch doesn't come back, coqtop is restarted at the last known point
+    private void interpTactics(int lastIndex) {
+        if(!applyBatch(lastIndex)) {
+            resync();
+        }
+    }
+
+    // returns false if it isn't known how far coqtop got
+    private boolean applyBatch(int lastIndex) {
+        Tactics tactics = programState.getTactics();
+        int first = tactics.getNextTacticIndex();
+
+        List<Tactic> batch = new ArrayList<>(tactics.getCurrentTactics().subList(first, lastIndex + 1));
+        List<String> codes = new ArrayList<>(batch.size());
+        for(Tactic tactic : batch) {
+            codes.add(tactic.fullText());
+        }
+
+        progressSetMessage("Interpreting " + codes.size() + " tactics...");
+        List<? extends CoqInterpMessage> messages;
+        try {
+            messages = await(coqAsync.interp(codes));
+        } catch(CoqStateLostException e) {
+            throw e;
+        } catch(RuntimeException e) {
+            e.printStackTrace();
+            messages = null;
+        }
+        if(messages == null) return false;
+
+        int applied = 0;
+        for(CoqInterpMessage message : messages) {
+            if(!message.statusIsGood()) {
+                sentCommandGotMessage(message);
+                break;
+            }
+            applied++;
+        }
+        log("applied " + applied + " of " + codes.size() + " tactics");
+
+        if(applied > 0) {
+            tactics.incrementNextTacticIndex(applied);
+            progressSetMessage("Updating GUI...");
+            int index = tactics.getNextTacticIndex(),
+                    size = tactics.getCurrentTacticsSize();
+            for(ExterminatorEventListener listener : listeners) {
+                listener.tacticSuccessfullyApplied(batch.get(applied - 1), index, size);
+            }
+        }
+        return true;
+    }
+
+    // moves to the point where target is the next tactic to apply, using a
+    // single rewind when going back
+    public void jumpToTactic(final int target) {
+        if(programState == null) return;
+
+        final Tactics tactics = programState.getTactics();
+        final int next = tactics.getNextTacticIndex();
+        if(target < 0 || target > tactics.getCurrentTacticsSize() || target == next) return;
+
+        if(target > next) {
+            applyTacticsThrough(target - 1);
+            return;
+        }
+
+        runLongOperation("Rewinding to Tactic " + (target + 1), new Runnable() {
+            @Override
+            public void run() {
+                int steps = next - target;
+                CoqRewindMessage message = await(coqAsync.rewind(steps));
+                sentCommandGotMessage(message);
+
+                if(message.statusIsGood()) {
+                    int extra = message.getExtraBacktracking();
+                    tactics.decrementNextTacticIndex(steps + extra);
+
+                    int newIndex = tactics.getNextTacticIndex(),
+                            size = tactics.getCurrentTacticsSize();
+                    for(ExterminatorEventListener listener : listeners) {
+                        listener.tacticSuccessfulyRewound(newIndex, size);
+                    }
+
+                    // coq went back further than we asked, so redo the
+                    // tactics it undid
+                    if(extra > 0 && tactics.getNextTacticIndex() < target) {
+                        interpTactics(target - 1);
+                    }
+                }
+
+                reloadStatus();
+            }
+        });
+    }
+
     public void rewind() {
         if(programState == null) return;
         
         runLongOperation("Rewinding Last Tactic", new Runnable() {
             @Override
             public void run() {
-                CoqRewindMessage message = sentCommandGotMessage(coq.rewind(1));
+                CoqRewindMessage message = sentCommandGotMessage(await(coqAsync.rewind(1)));
 
                 if(message.statusIsGood()) {
                     programState.getTactics().decrementNextTacticIndex(1 + message.getExtraBacktracking());
@@ -536,32 +785,60 @@ public class ExterminatorGUI extends JFrame implements Logger {
     }
 
     public CoqAboutMessage about() {
-        return sentCommandGotMessage(coq.about());
+        // nothing has been loaded yet
+        if(coq == null) {
+            try {
+                setCoqTop(CoqTop.instance());
+            } catch(IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return sentCommandGotMessage(await(coqAsync.withTimeout(COQ_QUERY_TIMEOUT).about()));
     }
 
     public CoqStatusMessage status() {
-        return sentCommandGotMessage(coq.status());
+        return sentCommandGotMessage(await(coqAsync.withTimeout(COQ_QUERY_TIMEOUT).status()));
     }
 
     public CoqGoalMessage goal() {
-        return sentCommandGotMessage(coq.goal());
+        return sentCommandGotMessage(await(coqAsync.withTimeout(COQ_QUERY_TIMEOUT).goal()));
     }
 
     public CoqEVarsMessage evars() {
-        return sentCommandGotMessage(coq.evars());
+        return sentCommandGotMessage(await(coqAsync.withTimeout(COQ_QUERY_TIMEOUT).evars()));
     }
 
     public CoqHintsMessage hints() {
-        return sentCommandGotMessage(coq.hints());
+        return sentCommandGotMessage(await(coqAsync.withTimeout(COQ_QUERY_TIMEOUT).hints()));
+    }
+
+    // a request that is given up on can't be trusted to have left coqtop
+    // where we think it is, so it is reported as CoqStateLostException
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch(CancellationException e) {
+            // cancelling a running request stops coqtop
+            throw new CoqStateLostException("the request to coqtop was cancelled", e);
+        } catch(InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CoqStateLostException("the request to coqtop was interrupted", e);
+        } catch(ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
     }
 
     private <T extends CoqMessage> T sentCommandGotMessage(T message) {
         statusFrame.appendRaw("=======================");
         statusFrame.appendRaw("SENDING");
-        statusFrame.appendRaw(XMLUtils.docToString(message.getCommand().getDoc()));
+        statusFrame.appendRaw(message.getCommand().getXML());
         statusFrame.appendRaw("-----------------------");
         statusFrame.appendRaw("RESPONSE");
-        statusFrame.appendRaw(XMLUtils.docToString(message.getDoc()));
+        statusFrame.appendRaw(message.getXML());
         statusFrame.appendRaw("=======================");
 
         if(!message.statusIsGood()) {
@@ -593,6 +870,44 @@ public class ExterminatorGUI extends JFrame implements Logger {
 
     ///////////////////////////////////////////////////////////////////////////
 
+    private static class Checkpoint {
+
+        private final Path file;
+
+        private final List<String> requires;
+
+        private final String assertion, header;
+
+        private final int state;
+
+        private Checkpoint(Program program, int state) {
+            this.file = program.getFile();
+            this.requires = requiresOf(program);
+            this.assertion = program.getMainFunction().getAssertion().fullText();
+            this.header = program.getMainFunction().getProof().getHeader();
+            this.state = state;
+        }
+
+        private boolean matches(Program program) {
+            Function main = program.getMainFunction();
+            return file.equals(program.getFile()) &&
+                    requires.equals(requiresOf(program)) &&
+                    assertion.equals(main.getAssertion().fullText()) &&
+                    header.equals(main.getProof().getHeader());
+        }
+
+        private static List<String> requiresOf(Program program) {
+            List<String> requires = new ArrayList<>();
+            for(Require require : program.getRequires()) {
+                requires.add(require.fullText());
+            }
+            return requires;
+        }
+
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
     public static void main(final String[] args) {
         SwingUtilities.invokeLater(new Runnable() {
             @Override
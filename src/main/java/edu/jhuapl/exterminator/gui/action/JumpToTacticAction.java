@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.gui.action;
+
+import java.awt.event.ActionEvent;
+import java.util.Objects;
+
+import javax.swing.AbstractAction;
+import javax.swing.JOptionPane;
+
+import edu.jhuapl.exterminator.gui.ExterminatorEventListener;
+import edu.jhuapl.exterminator.gui.ExterminatorGUI;
+import edu.jhuapl.exterminator.slmech.Program;
+
+public class JumpToTacticAction extends AbstractAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ExterminatorGUI gui;
+
+    public JumpToTacticAction(ExterminatorGUI gui) {
+        super("Jump to Tactic...");
+        this.gui = Objects.requireNonNull(gui);
+        putValue(SHORT_DESCRIPTION, "Rewinds or applies tactics until the given one is next");
+        setEnabled(false);
+
+        gui.addListener(new ExterminatorEventListener.Adapter() {
+            @Override
+            public void programLoaded(Program program) {
+                setEnabled(true);
+            }
+
+            @Override
+            public void proofSuccessfullyFinished() {
+                setEnabled(false);
+            }
+        });
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if(!isEnabled()) return;
+
+        String str = JOptionPane.showInputDialog(gui, "Number of the next tactic to apply:",
+                "Jump to Tactic", JOptionPane.QUESTION_MESSAGE);
+        if(str == null) return;
+
+        try {
+            gui.jumpToTactic(Integer.parseInt(str.trim()) - 1);
+        } catch(NumberFormatException ex) {
+            JOptionPane.showMessageDialog(gui, "Not a tactic number: " + str,
+                    "Jump to Tactic", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+}
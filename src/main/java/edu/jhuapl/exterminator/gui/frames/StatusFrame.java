@@ -35,17 +35,23 @@ package edu.jhuapl.exterminator.gui.frames;
 
 import java.awt.BorderLayout;
 import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.io.Serializable;
 
 import javax.swing.BoxLayout;
+import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
 import javax.swing.JTextArea;
 
+import edu.jhuapl.exterminator.coq.CoqMetrics;
 import edu.jhuapl.exterminator.coq.message.CoqAboutMessage;
 import edu.jhuapl.exterminator.coq.message.CoqStatusMessage;
+import edu.jhuapl.exterminator.grammar.coq.TermCache;
 import edu.jhuapl.exterminator.gui.ExterminatorEventListener;
 import edu.jhuapl.exterminator.gui.ExterminatorGUI;
 import edu.jhuapl.exterminator.slmech.ProgramState;
@@ -59,6 +65,8 @@ public class StatusFrame extends ExterminatorFrame implements Logger {
 	
 	private final StatusPanel status;
 	
+	private final MetricsPanel metrics;
+	
 	public StatusFrame(final ExterminatorGUI parent, boolean show) {
 		super(parent, "Status", show);
 		
@@ -73,12 +81,15 @@ public class StatusFrame extends ExterminatorFrame implements Logger {
 		
 		pane.addTab("Status", status = new StatusPanel());
 		
+		pane.addTab("Metrics", metrics = new MetricsPanel());
+		
 		///////////////////////////////////////////////////////////////////////
 		
 		parent.addListener(new ExterminatorEventListener.Adapter() {
 			@Override
 			public void programStateUpdated(ProgramState state) {
 				status.update(parent.status());
+				metrics.update();
 			}
 		});
 		
@@ -163,5 +174,51 @@ public class StatusFrame extends ExterminatorFrame implements Logger {
 		}
 		
 	}
+	
+	private class MetricsPanel extends JPanel {
+
+		private static final long serialVersionUID = 1L;
+		
+		private final JTextArea text;
+
+		public MetricsPanel() {
+			super();
+			
+			setLayout(new BorderLayout());
+			
+			add(new JScrollPane(text = new JTextArea()), BorderLayout.CENTER);
+			text.setEditable(false);
+			text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, text.getFont().getSize()));
+			
+			JPanel buttons = new JPanel();
+			add(buttons, BorderLayout.SOUTH);
+			
+			JButton refresh = new JButton("Refresh");
+			refresh.addActionListener(new ActionListener() {
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					update();
+				}
+			});
+			buttons.add(refresh);
+			
+			JButton reset = new JButton("Reset");
+			reset.addActionListener(new ActionListener() {
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					CoqMetrics.instance().reset();
+					update();
+				}
+			});
+			buttons.add(reset);
+		}
+		
+		public void update() {
+			text.setText(CoqMetrics.instance().getReport());
+			text.append("\nterm cache: " + TermCache.shared());
+			text.setCaretPosition(0);
+		}
+		
+	}
 
 }
@@ -38,6 +38,8 @@ import java.awt.Color;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -315,6 +317,15 @@ public class TacticsPanel extends JPanel {
             this.line = new JTextField(3);
             line.setEditable(false);
             line.setText(Integer.toString(index + 1));
+            line.setToolTipText("Double-click to make this the next tactic");
+            line.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    if(e.getClickCount() == 2) {
+                        gui.jumpToTactic(TacticPanel.this.index);
+                    }
+                }
+            });
             add(line, BorderLayout.WEST);
             this.text = new CoqDocText(tactic, ".");
             text.setEditable(false);
@@ -342,6 +353,15 @@ public class TacticsPanel extends JPanel {
                 }
             });
             
+            JButton runToButton = new JButton("\u25b6");
+            runToButton.setToolTipText("Apply tactics up to and including this one");
+            runToButton.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent arg0) {
+                    runTo();
+                }
+            });
+            
             JButton deleteButton = new JButton("X");
             deleteButton.setToolTipText("Delete this tactic");
             deleteButton.addActionListener(new ActionListener() {
@@ -357,6 +377,7 @@ public class TacticsPanel extends JPanel {
             temp.add(addBelowButton);
             
             buttonPanel.add(temp);
+            buttonPanel.add(runToButton);
             buttonPanel.add(deleteButton);
             
             Insets i = addAboveButton.getMargin();
@@ -388,6 +409,10 @@ public class TacticsPanel extends JPanel {
             gui.newTacticAtIndex(index + 1);
         }
         
+        private void runTo() {
+            gui.applyTacticsThrough(index);
+        }
+        
         private void delete() {
             gui.deleteTactic(index);
         }
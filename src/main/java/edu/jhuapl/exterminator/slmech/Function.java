@@ -36,6 +36,8 @@ package edu.jhuapl.exterminator.slmech;
 import java.util.List;
 import java.util.Objects;
 
+import edu.jhuapl.exterminator.grammar.coq.Command;
+import edu.jhuapl.exterminator.grammar.coq.CoqFTParser;
 import edu.jhuapl.exterminator.grammar.coq.sentence.Assertion;
 import edu.jhuapl.exterminator.grammar.coq.sentence.AssertionAndProof;
 import edu.jhuapl.exterminator.grammar.coq.sentence.Proof;
@@ -45,28 +47,114 @@ public class Function {
 
     private final Program program;
 
-    private final Assertion assertion;
+    private final String name;
 
-    private final Proof proof;
+    // set until the function is first used if it was skipped when opening
+    private CoqFTParser.Skipped skipped;
 
-    private final Code code;
+    // the same function in the version of the program this one replaced,
+    // kept until loading so whatever didn't change can be reused
+    private Function previous;
+
+    private AssertionAndProof sentence;
+
+    private Assertion assertion;
+
+    private Proof proof;
+
+    private Code code;
 
     public Function(Program program, AssertionAndProof assertionAndProof) {
         this.program = Objects.requireNonNull(program);
         Objects.requireNonNull(assertionAndProof);
+        this.name = assertionAndProof.getAssertion().getIdent().fullText();
+        load(assertionAndProof);
+    }
+
+    public Function(Program program, CoqFTParser.Skipped skipped) {
+        this.program = Objects.requireNonNull(program);
+        this.skipped = Objects.requireNonNull(skipped);
+        this.name = skipped.getName();
+    }
+
+    public Function(Program program, CoqFTParser.Skipped skipped, Function previous) {
+        this(program, skipped);
+        this.previous = Objects.requireNonNull(previous);
+    }
+
+    // an unchanged function in a new version of the program, sharing
+    // everything already parsed
+    Function(Program program, Function same) {
+        this.program = Objects.requireNonNull(program);
+        this.name = same.name;
+        synchronized(same) {
+            this.skipped = same.skipped;
+            this.previous = same.previous;
+            this.sentence = same.sentence;
+            this.assertion = same.assertion;
+            this.proof = same.proof;
+            this.code = same.code;
+        }
+    }
+
+    private void load(AssertionAndProof assertionAndProof) {
+        this.sentence = assertionAndProof;
         this.assertion = assertionAndProof.getAssertion();
         this.proof = assertionAndProof.getProof();
         this.code = new Code(assertion);
     }
 
+    /**
+     * Parses the assertion and proof if that hasn't been done yet.
+     */
+    public synchronized void load() {
+        if(skipped == null) return;
+
+        CoqFTParser parser = new CoqFTParser(skipped);
+        if(previous != null && previous.isLoaded()) {
+            load(parser.reparseAssertionAndProof(previous.getSentence()));
+        } else {
+            Command command = Command.make(parser, parser.command());
+            if(!(command instanceof AssertionAndProof)) {
+                throw new IllegalArgumentException("Unexpected command: " + command);
+            }
+            load((AssertionAndProof)command);
+        }
+        skipped = null;
+        previous = null;
+    }
+
+    public synchronized boolean isLoaded() { return skipped == null; }
+
+    /**
+     * The source text of the assertion and proof, which can be had without
+     * loading them.
+     */
+    public synchronized String getText() {
+        return skipped != null ? skipped.getText() : sentence.fullText();
+    }
+
     public Program getProgram() { return program; }
 
-    public Assertion getAssertion() { return assertion; }
+    public String getName() { return name; }
+
+    // what a cached program keeps for this: the sentence, or what stands in
+    // for it until it's loaded
+    synchronized Object getCacheable() {
+        return skipped != null ? skipped : sentence;
+    }
+
+    public synchronized AssertionAndProof getSentence() { load(); return sentence; }
+
+    public synchronized Assertion getAssertion() { load(); return assertion; }
+
+    public synchronized Proof getProof() { load(); return proof; }
 
-    public Proof getProof() { return proof; }
+    public List<Tactic> getTactics() { return getProof().getTactics(); }
 
-    public List<Tactic> getTactics() { return proof.getTactics(); }
+    public synchronized Code getCode() { load(); return code; }
 
-    public Code getCode() { return code; }
+    @Override
+    public String toString() { return name; }
 
 }
@@ -34,12 +34,18 @@
 package edu.jhuapl.exterminator.slmech;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+
 import edu.jhuapl.exterminator.grammar.coq.Command;
 import edu.jhuapl.exterminator.grammar.coq.CoqFTParser;
 import edu.jhuapl.exterminator.grammar.coq.Prog;
@@ -49,9 +55,22 @@ import edu.jhuapl.exterminator.utils.Logger;
 
 public class Program {
 
+    // if false, the whole file is parsed before any command is built
+    public static boolean STREAM = !Boolean.getBoolean("exterminator.program.whole");
+
+    // if true, only the main function is parsed when opening; the others
+    // are parsed the first time they're used
+    public static boolean SKELETON = !Boolean.getBoolean("exterminator.program.eager");
+
+    // where parsed programs are kept between runs, or null to always parse
+    public static ProgramCache CACHE = ProgramCache.shared();
+
     private final Path file;
 
-    private final Prog prog;
+    private Prog prog;
+
+    // the file's text, kept so a skeleton can be parsed in full later
+    private final CharStream source;
 
     private final List<Require> requires;
 
@@ -60,36 +79,146 @@ public class Program {
     private final int mainIndex;
 
     public Program(Path file, Logger logger) throws IOException {
-        this.file = Objects.requireNonNull(file);
-        logger.log("parsing program from " + file);
-        this.prog = new CoqFTParser(file).parseProg();
-        logger.log("done");
+        this(file, logger, null);
+    }
 
+    /**
+     * Opens a new version of a program.  Requires and functions whose text
+     * is unchanged since the previous version are reused as they are, and
+     * a changed function only has its changed assertion and tactics parsed
+     * again.  This only applies when opening a skeleton.
+     */
+    public Program(Path file, Logger logger, Program previous) throws IOException {
+        this.file = Objects.requireNonNull(file);
         this.requires = new ArrayList<>();
         this.functions = new ArrayList<>();
 
-        for(Command command : prog) {
-            if(command instanceof Require) {
-                requires.add((Require)command);
-            } else if(command instanceof AssertionAndProof) {
-                functions.add(new Function(this, (AssertionAndProof)command));
-            } else {
-                throw new IllegalArgumentException("Unexpected command: " + command);
+        ProgramCache cache = CACHE;
+        String key = null;
+        ProgramCache.Entry cached = null;
+        if(cache != null) {
+            key = ProgramCache.key(Files.readAllBytes(file));
+            if(previous == null) cached = cache.read(key);
+        }
+
+        if(cached != null) {
+            logger.log("read program from " + cache.getDirectory());
+            this.prog = cached.getProg();
+            this.source = cached.getSource();
+            requires.addAll(cached.getRequires());
+            for(Object function : cached.getFunctions()) {
+                if(function instanceof CoqFTParser.Skipped) {
+                    functions.add(new Function(this, (CoqFTParser.Skipped)function));
+                } else {
+                    functions.add(new Function(this, (AssertionAndProof)function));
+                }
+            }
+        } else if(SKELETON) {
+            logger.log("parsing program from " + file);
+            CoqFTParser parser = new CoqFTParser(file);
+            this.prog = null;
+            this.source = parser.getSource();
+            CoqFTParser.CommandListener progress = progress(parser, logger);
+            Map<String, Require> oldRequires = new HashMap<>();
+            Map<String, Function> oldFunctions = new HashMap<>();
+            if(previous != null) {
+                for(Require require : previous.requires) {
+                    oldRequires.put(require.fullText(), require);
+                }
+                for(Function function : previous.functions) {
+                    oldFunctions.put(function.getName(), function);
+                }
+            }
+            do {
+                CoqFTParser.Skipped skipped = parser.skipAssertionAndProof();
+                if(skipped != null) {
+                    Function old = oldFunctions.get(skipped.getName());
+                    if(old == null) {
+                        functions.add(new Function(this, skipped));
+                    } else if(old.getText().equals(skipped.getText())) {
+                        functions.add(new Function(this, old));
+                    } else {
+                        functions.add(new Function(this, skipped, old));
+                    }
+                } else {
+                    Command command = Command.make(parser, parser.command());
+                    Require old = oldRequires.get(command.fullText());
+                    add(old != null ? old : command);
+                }
+                progress.parsed(null, parser.getTokenStream().LT(-1));
+            } while(parser.getTokenStream().LA(1) != Token.EOF);
+        } else {
+            logger.log("parsing program from " + file);
+            CoqFTParser parser = new CoqFTParser(file);
+            this.prog = STREAM ? parser.streamProg(progress(parser, logger)) : parser.parseProg();
+            this.source = null;
+            for(Command command : prog) {
+                add(command);
             }
         }
+        logger.log("done");
 
         if(functions.isEmpty())
             throw new IllegalArgumentException("No proofs found.");
 
         // FIXME find the one with "completes"
         this.mainIndex = functions.size() - 1;
+
+        if(!getMainFunction().isLoaded()) {
+            logger.log("parsing " + getMainFunction());
+            getMainFunction().load();
+            logger.log("done");
+        }
+
+        if(cache != null && cached == null) {
+            List<Object> parsed = new ArrayList<>(functions.size());
+            for(Function function : functions) {
+                parsed.add(function.getCacheable());
+            }
+            try {
+                cache.write(key, new ProgramCache.Entry(source, prog, requires, parsed));
+            } catch(IOException e) {
+                logger.log("couldn't cache program: " + e);
+            }
+        }
+    }
+
+    private void add(Command command) {
+        if(command instanceof Require) {
+            requires.add((Require)command);
+        } else if(command instanceof AssertionAndProof) {
+            functions.add(new Function(this, (AssertionAndProof)command));
+        } else {
+            throw new IllegalArgumentException("Unexpected command: " + command);
+        }
+    }
+
+    // logs each tenth of the file as it's parsed
+    private static CoqFTParser.CommandListener progress(CoqFTParser parser, final Logger logger) {
+        final int size = parser.getSource().size();
+        return new CoqFTParser.CommandListener() {
+            private int logged = 0;
+
+            @Override
+            public void parsed(Command command, Token last) {
+                int tenths = size == 0 ? 10 : (int)(10L * (last.getStopIndex() + 1) / size);
+                if(tenths > logged) {
+                    logged = tenths;
+                    logger.log("parsed " + (tenths * 10) + "% (through line " + last.getLine() + ")");
+                }
+            }
+        };
     }
 
     public Path getFile() {
         return file;
     }
 
-    public Iterable<Command> getCommands() {
+    public synchronized Iterable<Command> getCommands() {
+        if(prog == null) {
+            // a skeleton skipped most of the file, so parse all of it now
+            prog = new CoqFTParser(CoqFTParser.getText(source, 0, source.size() - 1)).parseProg();
+        }
         return prog;
     }
 
@@ -0,0 +1,516 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.slmech;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+import edu.jhuapl.exterminator.grammar.coq.CoqParser;
+import edu.jhuapl.exterminator.grammar.coq.Prog;
+import edu.jhuapl.exterminator.grammar.coq.Require;
+
+/**
+ * Keeps parsed programs on disk, named by a hash of the file's contents,
+ * the grammar and the build of the classes that make the trees, so a file
+ * that hasn't changed is read back instead of parsed again.  Entries are
+ * written with Java serialization; one that fails to read is deleted and
+ * treated as missing.  The directory is bounded by the total size of its
+ * entries and the least recently used are deleted first.
+ */
+public class ProgramCache {
+
+    // the directory to cache programs in, or empty to not cache them
+    public static final String DIRECTORY_PROPERTY = "exterminator.program.cache";
+
+    public static final long DEFAULT_MAX_BYTES = Long.getLong("exterminator.program.cache.bytes", 256L << 20);
+
+    // change this if an entry could read back differently without the
+    // grammar or this build changing, such as with a new ANTLR runtime
+    private static final int VERSION = 1;
+
+    // the package whose classes are hashed into every key
+    private static final String PACKAGE = "edu/jhuapl/exterminator/";
+
+    // the suffix of the marker left for a key whose entry can't be written
+    private static final String UNSERIALIZABLE = ".unserializable";
+
+    private static ProgramCache shared;
+
+    private static byte[] build;
+
+    private final Path directory;
+
+    private final long maxBytes;
+
+    private long hits, misses, evictions;
+
+    public ProgramCache(Path directory) {
+        this(directory, DEFAULT_MAX_BYTES);
+    }
+
+    public ProgramCache(Path directory, long maxBytes) {
+        this.directory = Objects.requireNonNull(directory);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The cache in the directory named by the system property, or by
+     * default in the user's home directory; null if caching is off.
+     */
+    public static synchronized ProgramCache shared() {
+        if(shared == null) {
+            String directory = System.getProperty(DIRECTORY_PROPERTY,
+                    Paths.get(System.getProperty("user.home"), ".exterminator", "programs").toString());
+            if(directory.isEmpty()) return null;
+            shared = new ProgramCache(Paths.get(directory));
+        }
+        return shared;
+    }
+
+    public Path getDirectory() { return directory; }
+
+    public synchronized long getHits() { return hits; }
+
+    public synchronized long getMisses() { return misses; }
+
+    public synchronized long getEvictions() { return evictions; }
+
+    /**
+     * A hash of the file's contents along with the grammar it's parsed with
+     * and the build of the classes that turn it into trees.
+     */
+    public static String key(byte[] content) {
+        MessageDigest digest = sha256();
+        digest.update((byte)VERSION);
+        digest.update(CoqParser._serializedATN.getBytes(StandardCharsets.UTF_8));
+        digest.update(build());
+        digest.update(content);
+
+        StringBuilder sb = new StringBuilder();
+        for(byte b : digest.digest()) {
+            sb.append(String.format("%02x", b & 0xff));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A hash of this build's classes, so changing how trees are built or
+     * what's in them changes every key without anyone remembering to.
+     */
+    static synchronized byte[] build() {
+        if(build == null) {
+            try {
+                URL location = ProgramCache.class.getProtectionDomain().getCodeSource().getLocation();
+                build = fingerprint(Paths.get(location.toURI()));
+            } catch(IOException | URISyntaxException | RuntimeException e) {
+                // entries written now won't be read by any other run
+                System.err.println("Can't identify this build for the program cache: " + e);
+                build = new byte[32];
+                new SecureRandom().nextBytes(build);
+            }
+        }
+        return build;
+    }
+
+    /**
+     * @return a hash of the names and contents of the classes in the
+     * project's package, in a directory of classes or a jar
+     */
+    static byte[] fingerprint(Path location) throws IOException {
+        final MessageDigest digest = sha256();
+        if(Files.isDirectory(location)) {
+            final Path root = location;
+            final List<String> names = new ArrayList<>();
+            Path dir = root.resolve(PACKAGE);
+            if(Files.isDirectory(dir)) {
+                Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if(file.toString().endsWith(".class")) {
+                            names.add(root.relativize(file).toString().replace('\\', '/'));
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
+            Collections.sort(names);
+            for(String name : names) {
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(root.resolve(name)));
+            }
+        } else {
+            // the jar already has a checksum of each class
+            try(ZipFile jar = new ZipFile(location.toFile())) {
+                List<ZipEntry> entries = new ArrayList<>();
+                for(Enumeration<? extends ZipEntry> e = jar.entries(); e.hasMoreElements(); ) {
+                    ZipEntry entry = e.nextElement();
+                    if(entry.getName().startsWith(PACKAGE) && entry.getName().endsWith(".class")) {
+                        entries.add(entry);
+                    }
+                }
+                Collections.sort(entries, new Comparator<ZipEntry>() {
+                    @Override
+                    public int compare(ZipEntry a, ZipEntry b) {
+                        return a.getName().compareTo(b.getName());
+                    }
+                });
+                ByteBuffer crc = ByteBuffer.allocate(16);
+                for(ZipEntry entry : entries) {
+                    digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+                    crc.clear();
+                    crc.putLong(entry.getCrc()).putLong(entry.getSize());
+                    digest.update(crc.array());
+                }
+            }
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch(NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return the entry stored under the key, or null if there isn't a
+     * usable one
+     */
+    public Entry read(String key) {
+        Path path = directory.resolve(key);
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try(ObjectInputStream in = new SourceInputStream(new BufferInputStream(buffer))) {
+                Entry entry = (Entry)in.readObject();
+                synchronized(this) { hits++; }
+                touch(path);
+                return entry;
+            }
+        } catch(NoSuchFileException e) {
+            // not cached yet
+        } catch(IOException | ClassNotFoundException | RuntimeException | OutOfMemoryError e) {
+            // damaged; a bad length can ask for a huge array, which fails
+            // before anything is allocated
+            System.err.println("Deleting cached program " + path + ": " + e);
+            try {
+                Files.deleteIfExists(path);
+            } catch(IOException e2) {
+                // it's tried again next time
+            }
+        }
+        synchronized(this) { misses++; }
+        return null;
+    }
+
+    /**
+     * Stores the entry under the key.  The entry is written to a temporary
+     * file first so a reader never sees half of it.  An entry that can't be
+     * serialized is remembered, and later writes under its key do nothing.
+     */
+    public void write(String key, Entry entry) throws IOException {
+        Path unserializable = directory.resolve(key + UNSERIALIZABLE);
+        if(Files.exists(unserializable)) return;
+
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try(ObjectOutputStream out = new SourceOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeObject(entry);
+            }
+            Files.move(temp, directory.resolve(key), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch(NotSerializableException e) {
+            // the same file and build will fail the same way next time
+            try {
+                Files.createFile(unserializable);
+            } catch(FileAlreadyExistsException e2) {
+                // another writer got there first
+            }
+            throw e;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        trim(key);
+    }
+
+    // marks an entry as recently used
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch(IOException e) {
+            // it's only evicted sooner
+        }
+    }
+
+    // deletes the least recently used entries, other than the one just
+    // written, until the rest fit
+    private void trim(String keep) throws IOException {
+        final List<Path> entries = new ArrayList<>();
+        final Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+        long total = 0;
+        try(DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for(Path path : stream) {
+                // another writer's entry in progress
+                if(path.getFileName().toString().endsWith(".tmp")) continue;
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch(NoSuchFileException e) {
+                    continue;
+                }
+                if(!attrs.isRegularFile()) continue;
+                total += attrs.size();
+                if(path.getFileName().toString().equals(keep)) continue;
+                entries.add(path);
+                attributes.put(path, attrs);
+            }
+        }
+        if(total <= maxBytes) return;
+
+        Collections.sort(entries, new Comparator<Path>() {
+            @Override
+            public int compare(Path a, Path b) {
+                return attributes.get(a).lastModifiedTime().compareTo(attributes.get(b).lastModifiedTime());
+            }
+        });
+        for(Path path : entries) {
+            if(total <= maxBytes) break;
+            Files.deleteIfExists(path);
+            total -= attributes.get(path).size();
+            synchronized(this) { evictions++; }
+        }
+    }
+
+    /**
+     * What a program is built from: its requires, and for each function
+     * either its parsed AssertionAndProof or the Skipped stand-in for it.
+     */
+    public static class Entry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CharStream source;
+
+        private final Prog prog;
+
+        private final List<Require> requires;
+
+        private final List<Object> functions;
+
+        public Entry(CharStream source, Prog prog, List<Require> requires, List<Object> functions) {
+            this.source = source;
+            this.prog = prog;
+            this.requires = new ArrayList<>(requires);
+            this.functions = new ArrayList<>(functions);
+        }
+
+        public CharStream getSource() { return source; }
+
+        public Prog getProg() { return prog; }
+
+        public List<Require> getRequires() { return requires; }
+
+        public List<Object> getFunctions() { return functions; }
+
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    // the text of a CharStream, which isn't serializable itself
+    private static class SourceText implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String text;
+
+        private SourceText(String text) {
+            this.text = text;
+        }
+
+    }
+
+    // writes each CharStream as its text, once no matter how many tokens
+    // point into it
+    private static class SourceOutputStream extends ObjectOutputStream {
+
+        private final Map<CharStream, SourceText> sources = new IdentityHashMap<>();
+
+        private SourceOutputStream(OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) throws IOException {
+            if(!(obj instanceof CharStream)) return obj;
+
+            CharStream source = (CharStream)obj;
+            SourceText text = sources.get(source);
+            if(text == null) {
+                text = new SourceText(source.getText(Interval.of(0, source.size() - 1)));
+                sources.put(source, text);
+            }
+            return text;
+        }
+
+    }
+
+    // only reads the classes a cached program is made of, since anyone who
+    // can write to the directory can write an entry
+    private static class SourceInputStream extends ObjectInputStream {
+
+        private static final String[] ALLOWED = {
+            "edu.jhuapl.exterminator.", "java.lang.", "java.util.", "org.antlr.v4.runtime."
+        };
+
+        private SourceInputStream(InputStream in) throws IOException {
+            super(in);
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if(!isAllowed(desc.getName())) {
+                throw new InvalidClassException(desc.getName(), "not part of a cached program");
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("proxies aren't part of a cached program");
+        }
+
+        private static boolean isAllowed(String name) {
+            // arrays are named like [[Ljava.lang.String; or [I
+            int dims = 0;
+            while(dims < name.length() && name.charAt(dims) == '[') dims++;
+            if(dims > 0) {
+                if(name.length() == dims + 1) return true;
+                if(name.charAt(dims) != 'L' || !name.endsWith(";")) return false;
+                name = name.substring(dims + 1, name.length() - 1);
+            }
+            for(String prefix : ALLOWED) {
+                if(name.startsWith(prefix)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        protected Object resolveObject(Object obj) throws ObjectStreamException {
+            if(obj instanceof SourceText) {
+                return new ANTLRInputStream(((SourceText)obj).text);
+            }
+            return obj;
+        }
+
+    }
+
+    private static class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if(len == 0) return 0;
+            if(!buffer.hasRemaining()) return -1;
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+    }
+
+}
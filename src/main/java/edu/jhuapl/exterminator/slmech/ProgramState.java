@@ -42,6 +42,7 @@ import java.util.Objects;
 
 import edu.jhuapl.exterminator.coq.message.CoqGoalMessage;
 import edu.jhuapl.exterminator.coq.message.CoqHintsMessage;
+import edu.jhuapl.exterminator.grammar.coq.TokenIndex;
 import edu.jhuapl.exterminator.grammar.coq.term.Completes;
 import edu.jhuapl.exterminator.grammar.coq.term.ID;
 import edu.jhuapl.exterminator.grammar.coq.term.Term;
@@ -130,10 +131,10 @@ public class ProgramState {
         }
     }
 
-    private VarInfo getInfoFor(ID var, CoqGoalMessage.Goal goal, Map<ID, ID> simpleTermTypes) {
+    private VarInfo getInfoFor(ID var, CoqGoalMessage.Goal goal, Map<ID, ID> simpleTermTypes, TokenIndex index) {
         VarInfo info = new VarInfo(var);
 
-        GoalTermListSelector<Term> storebound = GoalTermListSelector.storebound(var, simpleTermTypes).handle(goal);
+        GoalTermListSelector<Term> storebound = GoalTermListSelector.storebound(var, simpleTermTypes, index).handle(goal);
         List<Term> storeboundTerms = storebound.getResults();
         if(storeboundTerms.size() == 1) {
             info.setStoreBoundTerm(storeboundTerms.get(0));
@@ -229,14 +230,16 @@ public class ProgramState {
                     .disregard(vars, vals, addresses, completesTerms, typedTerms);
             this.varInfo = new HashMap<>();
 
+            // every var is looked up in the same hypotheses
+            TokenIndex index = new TokenIndex(goal.getHypothesisTerms());
             for(ID var : vars.getResults()) {
-                VarInfo info = getInfoFor(var, goal, simpleTypedTerms);
+                VarInfo info = getInfoFor(var, goal, simpleTypedTerms, index);
                 varInfo.put(var, info);
 
                 // recursively get info for the right side
                 while(info.storeBoundTerm != null && info.storeBoundTerm instanceof ID) {
                     ID term = (ID)info.storeBoundTerm;
-                    VarInfo termInfo = getInfoFor(term, goal, simpleTypedTerms);
+                    VarInfo termInfo = getInfoFor(term, goal, simpleTypedTerms, index);
                     info.setStoreBoundTermInfo(termInfo);
                     info = termInfo;
                 }
@@ -51,24 +51,15 @@ public class Tactics implements Cloneable {
     
     public Tactics(List<Tactic> originalTactics) {
         Objects.requireNonNull(originalTactics);
-        this.originalTactics = new ArrayList<>(originalTactics.size());
-        this.currentTactics = new LinkedList<>();
-        for(Tactic tactic : originalTactics) {
-            this.originalTactics.add(tactic.clone());
-            this.currentTactics.add(tactic.clone());
-        }
+        // tactics don't change, so the lists can share them
+        this.originalTactics = new ArrayList<>(originalTactics);
+        this.currentTactics = new LinkedList<>(originalTactics);
         this.nextTacticIndex = 0;
     }
     
     private Tactics(Tactics copy) {
-        this.originalTactics = new ArrayList<>(copy.originalTactics.size());
-        for(Tactic tactic : copy.originalTactics) {
-            this.originalTactics.add(tactic.clone());
-        }
-        this.currentTactics = new LinkedList<>();
-        for(Tactic tactic : copy.currentTactics) {
-            this.currentTactics.add(tactic.clone());
-        }
+        this.originalTactics = copy.originalTactics;
+        this.currentTactics = new LinkedList<>(copy.currentTactics);
         this.nextTacticIndex = copy.nextTacticIndex;
     }
     
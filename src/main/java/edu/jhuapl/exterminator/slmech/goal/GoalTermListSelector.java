@@ -42,6 +42,7 @@ import java.util.Objects;
 import java.util.Set;
 
 import edu.jhuapl.exterminator.coq.message.CoqGoalMessage.Goal;
+import edu.jhuapl.exterminator.grammar.coq.TokenIndex;
 import edu.jhuapl.exterminator.grammar.coq.term.ID;
 import edu.jhuapl.exterminator.grammar.coq.term.Term;
 import edu.jhuapl.exterminator.grammar.coq.term.TypeCast;
@@ -138,6 +139,10 @@ public class GoalTermListSelector<T> implements GoalHandler {
         return new GoalTermListSelector<Term>(new StoreboundSelector(var, simpleTermTypes));
     }
 
+    public static GoalTermListSelector<Term> storebound(ID var, Map<ID, ID> simpleTermTypes, TokenIndex index) {
+        return new GoalTermListSelector<Term>(new StoreboundSelector(var, simpleTermTypes, index));
+    }
+
     public static GoalTermListSelector<List<EqualsExpression>> equals(ID var, Map<ID, ID> simpleTermTypes) {
         return new GoalTermListSelector<List<EqualsExpression>>(new EqualsSelector(var, simpleTermTypes));
     }
@@ -39,6 +39,7 @@ import java.util.Objects;
 import java.util.regex.Pattern;
 
 import edu.jhuapl.exterminator.grammar.coq.CoqToken;
+import edu.jhuapl.exterminator.grammar.coq.TokenIndex;
 import edu.jhuapl.exterminator.grammar.coq.term.Arg;
 import edu.jhuapl.exterminator.grammar.coq.term.ID;
 import edu.jhuapl.exterminator.grammar.coq.term.StoreBound;
@@ -118,15 +119,25 @@ public class StoreboundSelector implements TermSelector<Term> {
 
     private final Map<ID, ID> simpleTermTypes;
 
+    // where the var is in the goal's terms, or null to search each term
+    private final TokenIndex index;
+
     public StoreboundSelector(ID var, Map<ID, ID> simpleTermTypes) {
+        this(var, simpleTermTypes, null);
+    }
+
+    public StoreboundSelector(ID var, Map<ID, ID> simpleTermTypes, TokenIndex index) {
         this.var = Objects.requireNonNull(var);
         this.equals = new EqualsSelector(var, simpleTermTypes);
         this.simpleTermTypes = Objects.requireNonNull(simpleTermTypes);
+        this.index = index;
     }
 
     @Override
     public Term select(Term term) {
-        for(CoqToken parent : term.getParentsOf((CoqToken)var)) {
+        List<CoqToken> parents = index == null ? term.getParentsOf((CoqToken)var)
+                : index.getParentsOf(term, (CoqToken)var);
+        for(CoqToken parent : parents) {
             if(parent instanceof StoreBound) {
                 StoreBound s = (StoreBound)parent;
                 if(s.getLeft().equals(var)) {
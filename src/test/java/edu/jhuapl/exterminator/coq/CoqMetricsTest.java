@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CoqMetricsTest {
+
+	@Test
+	public void testHistogram() {
+		CoqMetrics metrics = new CoqMetrics();
+		for(int i = 1; i <= 100; i++) {
+			metrics.record("goal", CoqMetrics.Phase.THINK, i * 1000L);
+		}
+		metrics.recordBytes("goal", 20, 300);
+		metrics.recordBytes("goal", 20, 100);
+		
+		CoqMetrics.PhaseSummary think = null;
+		List<CoqMetrics.PhaseSummary> phases = metrics.getPhases();
+		for(CoqMetrics.PhaseSummary s : phases) {
+			if(s.getPhase().equals("THINK")) think = s;
+		}
+		
+		Assert.assertEquals(CoqMetrics.Phase.values().length, phases.size());
+		Assert.assertEquals(100, think.getCount());
+		Assert.assertEquals(50, think.getMeanMicros());
+		Assert.assertEquals(100, think.getMaxMicros());
+		// buckets are powers of two
+		Assert.assertEquals(63, think.getP50Micros());
+		Assert.assertEquals(100, think.getP95Micros());
+		
+		Assert.assertEquals(Long.valueOf(40), metrics.getBytesWritten().get("goal"));
+		Assert.assertEquals(Long.valueOf(400), metrics.getBytesRead().get("goal"));
+	}
+	
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CoqResponseReaderTest {
+	
+	private static CoqResponseReader reader(String output) {
+		CoqResponseReader reader = new CoqResponseReader(
+				new ByteArrayInputStream(output.getBytes()));
+		reader.start();
+		return reader;
+	}
+
+	@Test
+	public void testFraming() throws IOException {
+		String first = "<value val=\"good\"><option val=\"none\"/></value>";
+		String second = "<value val=\"fail\" loc_s=\"0\" loc_e=\"3\">x &gt; y</value>";
+		CoqResponseReader reader = reader(first + "\n" + second);
+		
+		Assert.assertEquals(first, reader.take());
+		Assert.assertEquals(second, reader.take());
+	}
+	
+	@Test
+	public void testIgnoresOtherOutput() throws IOException {
+		String value = "<value val=\"good\"><values/><string>value</string></value>";
+		CoqResponseReader reader = reader("junk <message>hi</message>" + value + "  ");
+		
+		Assert.assertEquals(value, reader.take());
+	}
+	
+	@Test(expected = IOException.class)
+	public void testEndOfStream() throws IOException {
+		CoqResponseReader reader = reader("<value val=\"good\">");
+		reader.take();
+	}
+	
+}
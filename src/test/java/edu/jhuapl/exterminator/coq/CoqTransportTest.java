@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import edu.jhuapl.exterminator.coq.coq84.CoqTop84;
+import edu.jhuapl.exterminator.coq.coq84.command.Coq84GoalCommand;
+import edu.jhuapl.exterminator.coq.coq84.command.Coq84RewindCommand;
+import edu.jhuapl.exterminator.coq.message.CoqInterpMessage;
+
+public class CoqTransportTest {
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private static final String GOAL = "<value val=\"good\"><option val=\"some\"><goals><list/><list/></goals></option></value>";
+	
+	private static final String REWIND = "<value val=\"fail\">Error:\nno\\way</value>";
+	
+	// answers with canned responses
+	private static class CannedTransport implements CoqTransport {
+		
+		private final Deque<String> responses;
+		
+		private CannedTransport(String... responses) {
+			this.responses = new ArrayDeque<>(Arrays.asList(responses));
+		}
+		
+		@Override
+		public void write(CoqXMLWriter frame) {
+			frame.reset();
+		}
+		
+		@Override
+		public String read() {
+			return responses.remove();
+		}
+		
+		@Override
+		public long getReadStarted() {
+			return -1;
+		}
+		
+		@Override
+		public boolean interrupt() {
+			return false;
+		}
+		
+		@Override
+		public void close() {
+		}
+		
+	}
+	
+	// answers nothing until it is interrupted, if it can be
+	private static class StuckTransport implements CoqTransport {
+		
+		private static final String CLOSED = new String("closed");
+		
+		private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+		
+		private final boolean interruptible;
+		
+		private volatile boolean interrupted;
+		
+		private StuckTransport(boolean interruptible) {
+			this.interruptible = interruptible;
+		}
+		
+		@Override
+		public void write(CoqXMLWriter frame) {
+			frame.reset();
+		}
+		
+		@Override
+		public String read() throws IOException {
+			String response;
+			try {
+				response = responses.take();
+			} catch(InterruptedException e) {
+				throw new InterruptedIOException();
+			}
+			if(response == CLOSED) throw new IOException("closed");
+			return response;
+		}
+		
+		@Override
+		public long getReadStarted() {
+			return -1;
+		}
+		
+		@Override
+		public boolean interrupt() {
+			if(!interruptible) return false;
+			interrupted = true;
+			responses.add(INTERRUPTED);
+			return true;
+		}
+		
+		@Override
+		public void close() {
+			responses.add(CLOSED);
+		}
+		
+	}
+	
+	private static final String INTERRUPTED = "<value val=\"fail\">User interrupt.</value>";
+	
+	// CoqTop opens its transport from its constructor
+	private static CoqTransport next;
+	
+	private static CoqTop84 coqOver(CoqTransport transport) throws IOException {
+		next = transport;
+		return new CoqTop84() {
+			@Override
+			protected CoqTransport openTransport() {
+				return next;
+			}
+		};
+	}
+	
+	private static String roundTrip(CoqTransport transport, CoqCommand command) throws IOException {
+		CoqXMLWriter out = new CoqXMLWriter();
+		command.write(out);
+		transport.write(out);
+		return transport.read();
+	}
+	
+	private Path record() throws IOException {
+		Path transcript = folder.newFile("session.txt").toPath();
+		RecordingTransport recorder = new RecordingTransport(
+				new CannedTransport(GOAL, REWIND), transcript);
+		Assert.assertEquals(GOAL, roundTrip(recorder, Coq84GoalCommand.instance()));
+		Assert.assertEquals(REWIND, roundTrip(recorder, Coq84RewindCommand.instance(2)));
+		recorder.close();
+		return transcript;
+	}
+	
+	@Test
+	public void testReplay() throws IOException {
+		ReplayTransport replay = new ReplayTransport(record(), false);
+		Assert.assertEquals(GOAL, roundTrip(replay, Coq84GoalCommand.instance()));
+		Assert.assertEquals(REWIND, roundTrip(replay, Coq84RewindCommand.instance(2)));
+	}
+	
+	@Test(expected = IOException.class)
+	public void testReplayDiverges() throws IOException {
+		ReplayTransport replay = new ReplayTransport(record(), false);
+		roundTrip(replay, Coq84RewindCommand.instance(2));
+	}
+	
+	@Test
+	public void testProcessInterrupt() throws IOException {
+		// signals need kill
+		Assume.assumeFalse(System.getProperty("os.name").startsWith("Windows"));
+		
+		ProcessTransport transport = new ProcessTransport("sleep", "30");
+		try {
+			Assert.assertTrue(transport.interrupt());
+		} finally {
+			transport.close();
+		}
+	}
+	
+	@Test
+	public void testDeadlineInterrupts() throws IOException {
+		StuckTransport transport = new StuckTransport(true);
+		CoqTop84 coq = coqOver(transport);
+		coq.setTimeout(50);
+		
+		CoqInterpMessage message = coq.interp("idtac.");
+		Assert.assertTrue(transport.interrupted);
+		Assert.assertFalse(message.statusIsGood());
+	}
+	
+	@Test(expected = CoqStateLostException.class)
+	public void testDeadlineStops() throws IOException {
+		CoqTop84 coq = coqOver(new StuckTransport(false));
+		coq.setTimeout(50);
+		coq.interp("idtac.");
+	}
+	
+	@Test
+	public void testRequestDeadline() throws Exception {
+		StuckTransport transport = new StuckTransport(true);
+		CoqTop84 coq = coqOver(transport);
+		CoqTopAsync async = new CoqTopAsync(coq);
+		try {
+			CoqInterpMessage message = async.withTimeout(50).interp("idtac.").get();
+			Assert.assertTrue(transport.interrupted);
+			Assert.assertFalse(message.statusIsGood());
+			Assert.assertEquals(0, coq.getTimeout());
+		} finally {
+			async.shutdown();
+		}
+	}
+	
+	@Test
+	public void testBatchFailureStops() throws IOException {
+		String good = "<value val=\"good\"><string></string></value>";
+		CoqTop84 coq = coqOver(new CannedTransport(good, "<value val=\"nonsense\"/>", good,
+				"<value val=\"fail\">fourth</value>"));
+		try {
+			coq.interp(Arrays.asList("a.", "b.", "c."));
+			Assert.fail("the second response can't be decoded");
+		} catch(CoqStateLostException e) {
+			// expected
+		}
+		
+		// c is still pending, so nothing after it can be trusted
+		try {
+			coq.interp("d.");
+			Assert.fail("coqtop should have been stopped");
+		} catch(CoqStateLostException e) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void testInterruptStops() throws Exception {
+		StuckTransport transport = new StuckTransport(true);
+		final CoqTop84 coq = coqOver(transport);
+		final BlockingQueue<Exception> thrown = new LinkedBlockingQueue<>();
+		Thread caller = new Thread() {
+			@Override
+			public void run() {
+				try {
+					coq.interp("idtac.");
+				} catch(Exception e) {
+					thrown.add(e);
+				}
+			}
+		};
+		caller.start();
+		Thread.sleep(50);
+		caller.interrupt();
+		caller.join(5000);
+		
+		Assert.assertTrue(thrown.poll() instanceof CoqStateLostException);
+		try {
+			coq.interp("idtac.");
+			Assert.fail("coqtop should have been stopped");
+		} catch(CoqStateLostException e) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void testBatchRedoesExtraBacktracking() throws IOException {
+		String good = "<value val=\"good\"><string></string></value>";
+		String fail = "<value val=\"fail\">no</value>";
+		// c ran after b failed, and undoing it took a with it
+		CannedTransport transport = new CannedTransport(good, fail, good,
+				"<value val=\"good\"><int>1</int></value>", good);
+		CoqTop84 coq = coqOver(transport);
+		
+		List<? extends CoqInterpMessage> messages = coq.interp(Arrays.asList("a.", "b.", "c."));
+		Assert.assertEquals(2, messages.size());
+		Assert.assertTrue(transport.responses.isEmpty());
+	}
+	
+	@Test(expected = CoqStateLostException.class)
+	public void testBatchBacktracksTooFar() throws IOException {
+		String good = "<value val=\"good\"><string></string></value>";
+		String fail = "<value val=\"fail\">no</value>";
+		CoqTop84 coq = coqOver(new CannedTransport(fail, good,
+				"<value val=\"good\"><int>1</int></value>"));
+		coq.interp(Arrays.asList("a.", "b."));
+	}
+	
+}
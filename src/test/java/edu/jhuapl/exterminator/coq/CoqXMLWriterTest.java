@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.jhuapl.exterminator.coq.coq84.command.Coq84GoalCommand;
+import edu.jhuapl.exterminator.coq.coq84.command.Coq84RewindCommand;
+
+public class CoqXMLWriterTest {
+
+	@Test
+	public void testEscaping() {
+		CoqXMLWriter out = new CoqXMLWriter();
+		out.start("call").attribute("val", "a\"b").text("x < y && y >= z\n").end("call");
+		
+		Assert.assertEquals("<call val=\"a&quot;b\">x &lt; y &amp;&amp; y &gt;= z </call>",
+				out.toString());
+	}
+	
+	@Test
+	public void testCommands() throws IOException {
+		Assert.assertEquals("<call val=\"goal\"/>", Coq84GoalCommand.instance().getXML());
+		Assert.assertEquals("<call val=\"rewind\" steps=\"2\"/>",
+				Coq84RewindCommand.instance(2).getXML());
+		
+		// the buffer is reused after each frame
+		CoqXMLWriter out = new CoqXMLWriter();
+		StringWriter writer = new StringWriter();
+		Coq84GoalCommand.instance().write(out);
+		out.writeTo(writer);
+		Coq84RewindCommand.instance(1).write(out);
+		out.writeTo(writer);
+		Assert.assertEquals("<call val=\"goal\"/><call val=\"rewind\" steps=\"1\"/>",
+				writer.toString());
+	}
+	
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.coq.coq84;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.jhuapl.exterminator.coq.coq84.command.Coq84GoalCommand;
+import edu.jhuapl.exterminator.coq.coq84.command.Coq84HintsCommand;
+import edu.jhuapl.exterminator.coq.coq84.command.Coq84RewindCommand;
+import edu.jhuapl.exterminator.coq.coq84.command.Coq84StatusCommand;
+import edu.jhuapl.exterminator.coq.coq84.message.Coq84GoalMessage;
+import edu.jhuapl.exterminator.coq.coq84.message.Coq84HintsMessage;
+import edu.jhuapl.exterminator.coq.coq84.message.Coq84RewindMessage;
+import edu.jhuapl.exterminator.coq.coq84.message.Coq84StatusMessage;
+import edu.jhuapl.exterminator.coq.message.CoqGoalMessage.Goal;
+
+public class Coq84MessageTest {
+
+	@Test
+	public void testStatus() {
+		String xml = "<value val=\"good\"><status>"
+				+ "<list><string>Top</string></list>"
+				+ "<option val=\"some\"><string>swap</string></option>"
+				+ "<list><string>swap</string><string>other</string></list>"
+				+ "<int>12</int><int>3</int>"
+				+ "</status></value>";
+		Coq84StatusMessage message = new Coq84StatusMessage(
+				Coq84StatusCommand.instance(), xml);
+		
+		Assert.assertTrue(message.statusIsGood());
+		Assert.assertEquals(Arrays.asList("Top"), message.getPath());
+		Assert.assertEquals("swap", message.getProofName());
+		Assert.assertEquals(Arrays.asList("swap", "other"), message.getAllProofs());
+		Assert.assertEquals(12, message.getStateNum());
+		Assert.assertEquals(3, message.getProofNum());
+		Assert.assertEquals(xml, message.getXML());
+	}
+	
+	@Test
+	public void testHints() {
+		String xml = "<value val=\"good\"><option val=\"some\"><pair>"
+				+ "<list><list><pair><string>a</string><string>apply a</string></pair></list></list>"
+				+ "<list><pair><string>b</string><string>apply b</string></pair></list>"
+				+ "</pair></option></value>";
+		Coq84HintsMessage message = new Coq84HintsMessage(
+				Coq84HintsCommand.instance(), xml);
+		
+		Assert.assertEquals(1, message.getHypotheses().size());
+		Assert.assertEquals("apply a", message.getHypotheses().get(0).get(0).getCode());
+		Assert.assertEquals("b", message.getGoals().get(0).getName());
+	}
+	
+	@Test
+	public void testGoal() {
+		String xml = "<value val=\"good\"><option val=\"some\"><goals>"
+				+ "<list><goal><string>1</string>"
+				+ "<list><string>H : a x</string><string>H0 : b</string><string>H1 : c y z</string></list>"
+				+ "<string>f x</string></goal></list>"
+				+ "<list><goal><string>2</string><list/><string>g y</string></goal></list>"
+				+ "</goals></option></value>";
+		Coq84GoalMessage message = new Coq84GoalMessage(
+				Coq84GoalCommand.instance(), xml);
+		
+		Goal fg = message.getFG().getGoals().get(0);
+		Assert.assertEquals(3, fg.getHypothesisTerms().size());
+		for(int i = 0; i < 3; i++) {
+			Assert.assertEquals(fg.getHypotheses().get(i),
+					fg.getHypothesisTerms().get(i).fullText());
+		}
+		Assert.assertEquals("f x", fg.getConclusion().fullText());
+		
+		Goal bg = message.getBG().getGoals().get(0);
+		Assert.assertFalse(bg.isForeground());
+		Assert.assertEquals("g y", bg.getConclusion().fullText());
+	}
+	
+	@Test
+	public void testFail() {
+		String xml = "<value val=\"fail\" loc_s=\"0\" loc_e=\"3\">Error: x &lt; y</value>";
+		Coq84RewindMessage message = new Coq84RewindMessage(
+				Coq84RewindCommand.instance(1), xml);
+		
+		Assert.assertFalse(message.statusIsGood());
+		Assert.assertEquals("Error: x < y", message.getErrorMessage());
+		Assert.assertEquals(0, message.getExtraBacktracking());
+	}
+	
+}
@@ -33,6 +33,8 @@
  */
 package edu.jhuapl.exterminator.grammar.coq;
 
+import java.util.Arrays;
+
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CommonTokenStream;
@@ -53,7 +55,7 @@ public class ContainsTest {
 		return parser;
 	}
 	
-	private static Term parseTerm(String str) {
+	static Term parseTerm(String str) {
 		CoqFTParser parser = parser(str);
 		return Term.make(parser, parser.term());
 	}
@@ -212,4 +214,61 @@ public class ContainsTest {
 		Assert.assertTrue(term.contains(i));
 	}
 	
+	@Test
+	public void testSharedSymbol() {
+		// different names, same hash
+		Assert.assertEquals("Aa".hashCode(), "BB".hashCode());
+		Term term = parseTerm("f Aa");
+		
+		Assert.assertTrue(term.hasIdentifier("Aa"));
+		Assert.assertFalse(term.hasIdentifier("BB"));
+		Assert.assertTrue(term.contains(parseIdent("Aa")));
+		Assert.assertFalse(term.contains(parseIdent("BB")));
+	}
+	
+	@Test
+	public void testIdentifiers() {
+		Term term = parseTerm("forall (x : nat), f x (g _ y) = z.w");
+		
+		Assert.assertTrue(term.hasIdentifier("x"));
+		Assert.assertTrue(term.hasIdentifier("g"));
+		Assert.assertTrue(term.hasIdentifier("w"));
+		Assert.assertFalse(term.hasIdentifier("q"));
+		Assert.assertFalse(term.hasIdentifier("neverSeenAnywhere"));
+		
+		Assert.assertTrue(term.contains(parseIdent("y")));
+		Assert.assertTrue(term.contains(parseName("_")));
+		Assert.assertTrue(term.contains(parseQualid("z.w")));
+		Assert.assertFalse(term.contains(parseQualid("a.w")));
+		Assert.assertFalse(term.contains(parseIdent("q")));
+		Assert.assertTrue(term.getParentsOf(parseIdent("q")).isEmpty());
+		Assert.assertFalse(term.getParentsOf(parseIdent("y")).isEmpty());
+	}
+	
+	@Test
+	public void testIndex() {
+		Term t1 = parseTerm("forall (x : nat), f x (g x y) = x");
+		Term t2 = parseTerm("(a b (a c))");
+		TokenIndex index = new TokenIndex(Arrays.asList(t1, t2));
+		
+		for(String name : new String[] { "x", "y", "g", "a", "c", "q" }) {
+			Ident i = parseIdent(name);
+			Assert.assertEquals(t1.getParentsOf(i), index.getParentsOf(t1, i));
+			Assert.assertEquals(t2.getParentsOf(i), index.getParentsOf(t2, i));
+		}
+		Assert.assertTrue(index.getParentsOf(t1, parseIdent("q")).isEmpty());
+		Assert.assertEquals(t2.getParentsOf(parseName("_")), index.getParentsOf(t2, parseName("_")));
+		
+		Zipper z = index.getOccurrences(t2, "c").get(0);
+		Assert.assertSame(z.up().getFocus(), index.getParent(z.getFocus()));
+		Assert.assertSame(t2, z.root().getFocus());
+		Assert.assertTrue(z.isWithin(z.root()));
+		Assert.assertFalse(z.root().isWithin(z));
+		
+		Zipper first = Zipper.of(t2);
+		while(first.childCount() > 0) first = first.down(0);
+		Assert.assertNull(first.left());
+		Assert.assertEquals(first, first.up().down(first.getIndex()));
+	}
+	
 }
@@ -960,6 +960,33 @@ public class GrammarTest {
         Assert.assertNotNull(OrExpression.convert(e));
     }
 
+    @Test
+    public void testExpressionArgsFixed() {
+        String str = "f x (g y) z";
+        CoqParser.TermContext ctx = parseTerm(str);
+        Expression e = new Expression(parser, ctx);
+        Assert.assertEquals(3, e.getArgs().size());
+        try {
+            e.getArgs().clear();
+            Assert.fail("args changed after construction");
+        } catch(UnsupportedOperationException ex) {
+            // expected
+        }
+        Assert.assertEquals(str, e.fullText());
+    }
+
+    @Test
+    public void testConvertedHash() {
+        String str = "f x /\\ g y";
+        CoqParser.TermContext ctx = parseTerm(str);
+        Expression e = new Expression(parser, ctx);
+        e.hashCode();
+        Term converted = AndExpression.convert(e).asTerm();
+        Term made = Term.make(parser, ctx);
+        Assert.assertEquals(made, converted);
+        Assert.assertEquals(made.hashCode(), converted.hashCode());
+    }
+
     @Test
     public void testStoreBound() {
         String str = "(retPtr ≐ 0)";
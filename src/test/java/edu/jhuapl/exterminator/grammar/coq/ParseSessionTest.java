@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.grammar.coq;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.jhuapl.exterminator.grammar.coq.term.Term;
+
+public class ParseSessionTest {
+	
+	@Test
+	public void testReuse() {
+		Term t1 = CoqFTParser.parseTerm("f x y", true);
+		Term t2 = CoqFTParser.parseTerm("g z", true);
+		Assert.assertEquals("f x y", t1.fullText());
+		Assert.assertEquals("g z", t2.fullText());
+	}
+	
+	@Test
+	public void testAfterSyntaxError() {
+		try {
+			CoqFTParser.parseTerm(")", true);
+			Assert.fail("Expected a syntax error");
+		} catch(CoqSyntaxException e) {
+			// expected
+		}
+		Term term = CoqFTParser.parseTerm("f x", true);
+		Assert.assertEquals("f x", term.fullText());
+	}
+	
+	@Test
+	public void testLeftRecursiveText() {
+		CoqFTParser parser = new CoqFTParser("a.b.c");
+		CoqParser.QualidContext qualid = parser.qualid();
+		Assert.assertEquals("a.b.c", parser.getFullText(qualid));
+		Assert.assertEquals("a.b", parser.getFullText(qualid.qualid()));
+		Assert.assertEquals("a", parser.getFullText(qualid.qualid().qualid()));
+		
+		parser = new CoqFTParser("table::str::nil");
+		CoqParser.TermContext term = parser.term();
+		Assert.assertEquals("table::str::nil", parser.getFullText(term));
+		Assert.assertEquals("table::str", parser.getFullText(term.term(0)));
+	}
+	
+}
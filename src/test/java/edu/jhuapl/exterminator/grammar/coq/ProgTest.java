@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.grammar.coq;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.antlr.v4.runtime.Token;
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.jhuapl.exterminator.grammar.coq.sentence.AssertionAndProof;
+
+public class ProgTest {
+	
+	private static final String PROGRAM = "(* header *)\n"
+			+ "Require Import Lists.List.\n"
+			+ "Require Export Coq.Arith.\n"
+			+ "Lemma refl : forall x, x = x.\n"
+			+ "Proof.\nintros.\nreflexivity.\nQed.\n";
+	
+	@Test
+	public void testStream() {
+		Prog whole = new CoqFTParser(PROGRAM).parseProg();
+		
+		final List<Integer> lines = new ArrayList<>();
+		Prog streamed = new CoqFTParser(PROGRAM).streamProg(new CoqFTParser.CommandListener() {
+			@Override
+			public void parsed(Command command, Token last) {
+				lines.add(last.getLine());
+			}
+		});
+		
+		Assert.assertEquals(whole, streamed);
+		Assert.assertEquals(whole.fullText(), streamed.fullText());
+		Assert.assertEquals(whole.toString(), streamed.toString());
+		Assert.assertEquals(3, lines.size());
+		Assert.assertEquals(Integer.valueOf(8), lines.get(2));
+	}
+	
+	@Test
+	public void testSkip() {
+		CoqFTParser parser = new CoqFTParser(PROGRAM);
+		
+		// not an assertion, so nothing is skipped
+		Assert.assertNull(parser.skipAssertionAndProof());
+		Assert.assertTrue(Command.make(parser, parser.command()) instanceof Require);
+		Assert.assertTrue(Command.make(parser, parser.command()) instanceof Require);
+		
+		CoqFTParser.Skipped skipped = parser.skipAssertionAndProof();
+		Assert.assertNotNull(skipped);
+		Assert.assertEquals("refl", skipped.getName());
+		Assert.assertEquals("Lemma refl : forall x, x = x.\n"
+				+ "Proof.\nintros.\nreflexivity.\nQed.", skipped.getText());
+		Assert.assertEquals(Token.EOF, parser.getTokenStream().LA(1));
+	}
+	
+	@Test
+	public void testSkippedPositions() {
+		CoqFTParser parser = new CoqFTParser(PROGRAM);
+		parser.command();
+		parser.command();
+		CoqFTParser.Skipped skipped = parser.skipAssertionAndProof();
+		
+		parser = new CoqFTParser(skipped);
+		AssertionAndProof loaded = (AssertionAndProof)Command.make(parser, parser.command());
+		Assert.assertEquals(skipped.getText(), loaded.fullText());
+		
+		// errors give the line in the file, not in the lemma
+		String bad = PROGRAM.replace("reflexivity.", "reflexivity )).");
+		parser = new CoqFTParser(bad);
+		parser.command();
+		parser.command();
+		parser = new CoqFTParser(parser.skipAssertionAndProof());
+		try {
+			parser.command();
+			Assert.fail("parsed a bad tactic");
+		} catch(CoqSyntaxException e) {
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("line 7:12 "));
+		}
+	}
+	
+	@Test
+	public void testSkipWithoutProof() {
+		CoqFTParser parser = new CoqFTParser("Definition x : nat := 0.\nLemma y : x = x.\nProof.\nreflexivity.\nQed.");
+		Token first = parser.getTokenStream().LT(1);
+		Assert.assertNull(parser.skipAssertionAndProof());
+		Assert.assertSame(first, parser.getTokenStream().LT(1));
+	}
+	
+	@Test
+	public void testReparse() {
+		String before = "Lemma refl : forall x, x = x.\nProof.\nintros.\nauto.\nQed.";
+		String after = "Lemma refl : forall x, x = x.\nProof.\nintros.\nreflexivity.\nQed.";
+		
+		CoqFTParser parser = new CoqFTParser(before);
+		AssertionAndProof previous = (AssertionAndProof)Command.make(parser, parser.command());
+		AssertionAndProof reparsed = new CoqFTParser(after).reparseAssertionAndProof(previous);
+		
+		parser = new CoqFTParser(after);
+		AssertionAndProof whole = (AssertionAndProof)Command.make(parser, parser.command());
+		
+		Assert.assertEquals(whole, reparsed);
+		Assert.assertEquals(whole.fullText(), reparsed.fullText());
+		Assert.assertEquals(whole.getProof().fullText(), reparsed.getProof().fullText());
+		Assert.assertSame(previous.getAssertion(), reparsed.getAssertion());
+		Assert.assertSame(previous.getProof().getTactics().get(0), reparsed.getProof().getTactics().get(0));
+		Assert.assertNotSame(previous.getProof().getTactics().get(1), reparsed.getProof().getTactics().get(1));
+	}
+	
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.grammar.coq;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.jhuapl.exterminator.grammar.coq.term.Term;
+
+public class TermCacheTest {
+	
+	@Test
+	public void testHitsAndSharing() {
+		TermCache cache = new TermCache(1000);
+		Term t1 = cache.parse("f x y", true);
+		Term t2 = cache.parse("f x y", true);
+		
+		Assert.assertEquals(1, cache.getMisses());
+		Assert.assertEquals(1, cache.getHits());
+		Assert.assertSame(t1, t2);
+		Assert.assertEquals(t1.fullText(), t2.fullText());
+	}
+	
+	@Test
+	public void testEviction() {
+		TermCache cache = new TermCache(10);
+		cache.parse("aaaa", true);
+		cache.parse("bbbb", true);
+		// touch aaaa so bbbb is the least recently used
+		cache.parse("aaaa", true);
+		cache.parse("cccc", true);
+		
+		Assert.assertEquals(2, cache.size());
+		Assert.assertEquals(8, cache.getChars());
+		Assert.assertEquals(1, cache.getEvictions());
+		
+		cache.parse("aaaa", true);
+		Assert.assertEquals(2, cache.getHits());
+	}
+	
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.grammar.coq;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.jhuapl.exterminator.grammar.coq.term.Term;
+import edu.jhuapl.exterminator.grammar.coq.term.expression.Expression;
+
+public class TermInternerTest {
+	
+	@Test
+	public void testCanonical() {
+		TermInterner interner = new TermInterner();
+		Term t1 = interner.intern(CoqFTParser.parseTerm("f x (g y)", true));
+		Term t2 = interner.intern(CoqFTParser.parseTerm("f x (g y)", true));
+		Term t3 = interner.intern(CoqFTParser.parseTerm("f x (g z)", true));
+		
+		Assert.assertSame(t1, t2);
+		Assert.assertNotSame(t1, t3);
+		Assert.assertEquals(1, interner.getHits());
+		Assert.assertEquals(2, interner.getMisses());
+		Assert.assertEquals(2, interner.size());
+	}
+	
+	@Test
+	public void testSharedSubterms() {
+		Expression e1 = (Expression)CoqFTParser.parseTerm("f (g x) y", true);
+		Expression e2 = (Expression)CoqFTParser.parseTerm("h (g x) z", true);
+		
+		Assert.assertSame(e1.getArg(0).getTerm(), e2.getArg(0).getTerm());
+		Assert.assertNotSame(e1.getArg(1).getTerm(), e2.getArg(1).getTerm());
+	}
+	
+	@Test
+	public void testKeepsText() {
+		TermInterner interner = new TermInterner();
+		Term t1 = interner.intern(CoqFTParser.parseTerm("f x y", true));
+		Term t2 = interner.intern(CoqFTParser.parseTerm("f  x y", true));
+		
+		// equal, but shown differently
+		Assert.assertEquals(t1, t2);
+		Assert.assertNotSame(t1, t2);
+		Assert.assertEquals("f  x y", t2.fullText());
+	}
+	
+	@Test
+	public void testHashKept() {
+		Term term = CoqFTParser.parseTerm("forall x, x = x", true);
+		int hash = term.hashCode();
+		Assert.assertEquals(hash, term.hashCode());
+		Assert.assertEquals(hash, term.clone().hashCode());
+	}
+	
+}
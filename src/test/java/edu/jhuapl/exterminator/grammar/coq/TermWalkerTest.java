@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.grammar.coq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.jhuapl.exterminator.grammar.coq.term.Term;
+
+public class TermWalkerTest {
+	
+	// a node with an optional child, for chains too deep to parse
+	private static class Link extends CoqToken {
+		
+		private final CoqToken next;
+		
+		private Link(String text, CoqToken next) {
+			super(text);
+			this.next = next;
+		}
+		
+		@Override
+		public List<CoqToken> getChildren() {
+			return next == null ? Collections.<CoqToken>emptyList() : Collections.singletonList(next);
+		}
+		
+		@Override
+		public boolean isTerminalNode() { return next == null; }
+		
+		@Override
+		public Link clone() { return this; }
+		
+	}
+	
+	@Test
+	public void testOrder() {
+		final Term t = ContainsTest.parseTerm("f x (g y)");
+		final List<String> entered = new ArrayList<>(), left = new ArrayList<>();
+		new TermWalker() {
+			@Override
+			protected boolean enter(CoqToken token) {
+				entered.add(token.fullText());
+				return true;
+			}
+			
+			@Override
+			protected void leave(CoqToken token) {
+				left.add(token.fullText());
+			}
+		}.walk(t);
+		
+		Assert.assertEquals("f x (g y)", entered.get(0));
+		Assert.assertEquals("f x (g y)", left.get(left.size() - 1));
+		Assert.assertEquals(entered.size(), left.size());
+		Assert.assertTrue(entered.indexOf("x") < entered.indexOf("y"));
+		Assert.assertEquals(t.getChildren().size(), t.childCount());
+		Assert.assertSame(t.getChildren().get(0), t.child(0));
+	}
+	
+	@Test
+	public void testDeepChain() {
+		Link bottom = new Link("bottom", null);
+		CoqToken chain = bottom;
+		for(int i = 0; i < 100000; i++) {
+			chain = new Link("link", chain);
+		}
+		
+		Assert.assertTrue(chain.contains(bottom));
+		Assert.assertEquals(1, chain.getParentsOf(bottom).size());
+		Assert.assertFalse(chain.contains(new Link("elsewhere", null)));
+	}
+	
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2016, Johns Hopkins University Applied Physics
+ * Laboratory All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived
+ * from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.jhuapl.exterminator.slmech;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import edu.jhuapl.exterminator.grammar.coq.Command;
+import edu.jhuapl.exterminator.grammar.coq.CoqFTParser;
+import edu.jhuapl.exterminator.grammar.coq.Prog;
+import edu.jhuapl.exterminator.grammar.coq.Require;
+import edu.jhuapl.exterminator.grammar.coq.sentence.AssertionAndProof;
+
+public class ProgramCacheTest {
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private static final String PROGRAM = "Require Import Lists.List.\n"
+			+ "Lemma refl : forall x, x = x.\n"
+			+ "Proof.\nintros.\nreflexivity.\nQed.\n"
+			+ "Lemma sym : forall x y, x = y -> y = x.\n"
+			+ "Proof.\nintros.\nauto.\nQed.\n";
+	
+	@Test
+	public void testRoundTrip() throws IOException {
+		ProgramCache cache = new ProgramCache(folder.getRoot().toPath());
+		String key = ProgramCache.key(PROGRAM.getBytes(StandardCharsets.UTF_8));
+		Assert.assertNull(cache.read(key));
+		
+		// one function parsed, one skipped
+		CoqFTParser parser = new CoqFTParser(PROGRAM);
+		Require require = (Require)Command.make(parser, parser.command());
+		AssertionAndProof refl = (AssertionAndProof)Command.make(parser, parser.command());
+		CoqFTParser.Skipped sym = parser.skipAssertionAndProof();
+		
+		cache.write(key, new ProgramCache.Entry(parser.getSource(), null,
+				Collections.singletonList(require), Arrays.<Object>asList(refl, sym)));
+		
+		ProgramCache.Entry entry = cache.read(key);
+		Assert.assertNotNull(entry);
+		Assert.assertEquals(1, cache.getHits());
+		Assert.assertEquals(1, cache.getMisses());
+		
+		Assert.assertEquals(require.fullText(), entry.getRequires().get(0).fullText());
+		Assert.assertEquals(refl, entry.getFunctions().get(0));
+		Assert.assertEquals(refl.fullText(), ((AssertionAndProof)entry.getFunctions().get(0)).fullText());
+		Assert.assertEquals(sym.getText(), ((CoqFTParser.Skipped)entry.getFunctions().get(1)).getText());
+		Assert.assertEquals(PROGRAM.length(), entry.getSource().size());
+	}
+	
+	@Test
+	public void testProg() throws IOException {
+		ProgramCache cache = new ProgramCache(folder.getRoot().toPath());
+		String key = ProgramCache.key(PROGRAM.getBytes(StandardCharsets.UTF_8));
+		
+		Prog prog = new CoqFTParser(PROGRAM).parseProg();
+		List<Object> none = new ArrayList<>();
+		cache.write(key, new ProgramCache.Entry(null, prog, new ArrayList<Require>(), none));
+		
+		Prog read = cache.read(key).getProg();
+		Assert.assertEquals(prog, read);
+		Assert.assertEquals(prog.toString(), read.toString());
+		Assert.assertEquals(prog.fullText(), read.fullText());
+	}
+	
+	@Test
+	public void testDamaged() throws IOException {
+		ProgramCache cache = new ProgramCache(folder.getRoot().toPath());
+		String key = ProgramCache.key(PROGRAM.getBytes(StandardCharsets.UTF_8));
+		Assert.assertNotEquals(key, ProgramCache.key((PROGRAM + " ").getBytes(StandardCharsets.UTF_8)));
+		
+		Files.write(folder.getRoot().toPath().resolve(key), new byte[] { 1, 2, 3 });
+		Assert.assertNull(cache.read(key));
+	}
+	
+	@Test
+	public void testBuildChangesKey() throws IOException {
+		Path root = folder.newFolder("classes").toPath();
+		Path dir = Files.createDirectories(root.resolve("edu/jhuapl/exterminator/grammar"));
+		Files.write(dir.resolve("Term.class"), new byte[] { 1, 2, 3 });
+		byte[] before = ProgramCache.fingerprint(root);
+		
+		// only the project's classes count
+		Files.write(root.resolve("Other.class"), new byte[] { 4 });
+		Assert.assertArrayEquals(before, ProgramCache.fingerprint(root));
+		
+		Files.write(dir.resolve("Term.class"), new byte[] { 1, 2, 4 });
+		Assert.assertFalse(Arrays.equals(before, ProgramCache.fingerprint(root)));
+		
+		Assert.assertSame(ProgramCache.build(), ProgramCache.build());
+	}
+	
+	@Test
+	public void testEviction() throws IOException {
+		Path dir = folder.getRoot().toPath();
+		Prog prog = new CoqFTParser(PROGRAM).parseProg();
+		ProgramCache.Entry entry = new ProgramCache.Entry(null, prog, new ArrayList<Require>(), new ArrayList<Object>());
+		
+		new ProgramCache(dir).write("a", entry);
+		long size = Files.size(dir.resolve("a"));
+		
+		// room for two
+		ProgramCache cache = new ProgramCache(dir, 2 * size + size / 2);
+		cache.write("b", entry);
+		long now = System.currentTimeMillis();
+		Files.setLastModifiedTime(dir.resolve("a"), FileTime.fromMillis(now - 20000));
+		Files.setLastModifiedTime(dir.resolve("b"), FileTime.fromMillis(now - 10000));
+		Assert.assertNotNull(cache.read("a"));
+		
+		cache.write("c", entry);
+		Assert.assertEquals(1, cache.getEvictions());
+		Assert.assertTrue(Files.exists(dir.resolve("a")));
+		Assert.assertFalse(Files.exists(dir.resolve("b")));
+		Assert.assertTrue(Files.exists(dir.resolve("c")));
+	}
+	
+	@Test
+	public void testUnserializableRemembered() throws IOException {
+		ProgramCache cache = new ProgramCache(folder.getRoot().toPath());
+		String key = ProgramCache.key(PROGRAM.getBytes(StandardCharsets.UTF_8));
+		ProgramCache.Entry entry = new ProgramCache.Entry(null, null,
+				new ArrayList<Require>(), Arrays.asList(new Object()));
+		
+		try {
+			cache.write(key, entry);
+			Assert.fail("wrote an entry that can't be serialized");
+		} catch(NotSerializableException e) {
+			// expected
+		}
+		
+		// not tried again
+		cache.write(key, entry);
+		Assert.assertNull(cache.read(key));
+	}
+	
+	@Test
+	public void testCorruptedEntries() throws IOException {
+		Path dir = folder.getRoot().toPath();
+		ProgramCache cache = new ProgramCache(dir);
+		Prog prog = new CoqFTParser(PROGRAM).parseProg();
+		cache.write("good", new ProgramCache.Entry(null, prog, new ArrayList<Require>(), new ArrayList<Object>()));
+		byte[] good = Files.readAllBytes(dir.resolve("good"));
+		
+		// whatever goes wrong reading, it's a miss and the entry is gone
+		Random random = new Random(1);
+		for(int i = 0; i < 300; i++) {
+			byte[] bad = good.clone();
+			for(int j = 0; j < 3; j++) {
+				bad[random.nextInt(bad.length)] = (byte)random.nextInt(256);
+			}
+			Files.write(dir.resolve("bad"), bad);
+			if(cache.read("bad") == null) {
+				Assert.assertFalse(Files.exists(dir.resolve("bad")));
+			}
+		}
+	}
+	
+	@Test
+	public void testOnlyTreeClasses() throws IOException {
+		Path dir = folder.getRoot().toPath();
+		ProgramCache cache = new ProgramCache(dir);
+		cache.write("other", new ProgramCache.Entry(null, null,
+				new ArrayList<Require>(), Arrays.<Object>asList(new File("x"))));
+		
+		Assert.assertNull(cache.read("other"));
+		Assert.assertFalse(Files.exists(dir.resolve("other")));
+	}
+	
+}